@@ -29,6 +29,41 @@ public class Constants {
     public static final String IS_W3C_PROPERTY = "isW3C";
     public static final String W3C_ENABLED_PROPERTY = "w3c.enabled";
     public static final String BROWSERS_PROPERTY = "browsers";
+    public static final String POOL_ENABLED_PROPERTY = "pool.enabled";
+    public static final String POOL_SIZE_PROPERTY = "pool.size";
+    public static final String POOL_BORROW_TIMEOUT_PROPERTY = "pool.borrow.timeout";
+    public static final String RECYCLE_ENABLED_PROPERTY = "driver.recycle";
+    public static final String RECYCLE_MAX_REUSE_PROPERTY = "driver.recycle.max.reuse";
+    public static final String DRIVER_CACHE_DIR_PROPERTY = "driver.cache.dir";
+    public static final String DRIVER_OFFLINE_PROPERTY = "driver.offline";
+    public static final String LAUNCH_PROFILE_PROPERTY = "launch.profile";
+    public static final String GOVERNOR_ENABLED_PROPERTY = "governor.enabled";
+    public static final String GOVERNOR_MAX_SESSIONS_PROPERTY = "governor.max.sessions";
+    public static final String GOVERNOR_SESSION_MEMORY_PROPERTY = "governor.session.memory.mb";
+    public static final String GOVERNOR_SESSION_SHM_PROPERTY = "governor.session.shm.mb";
+    public static final String GOVERNOR_ACQUIRE_TIMEOUT_PROPERTY = "governor.acquire.timeout";
+    public static final String GRID_BROKER_ENABLED_PROPERTY = "grid.broker.enabled";
+    public static final String GRID_BROKER_TIMEOUT_PROPERTY = "grid.broker.timeout";
+    public static final String GRID_BROKER_BACKOFF_PROPERTY = "grid.broker.backoff";
+    public static final String VIRTUAL_THREADS_PROPERTY = "virtual.threads";
+    public static final String WATCHDOG_ENABLED_PROPERTY = "watchdog.enabled";
+    public static final String WATCHDOG_INTERVAL_PROPERTY = "watchdog.interval";
+    public static final String WATCHDOG_PING_TIMEOUT_PROPERTY = "watchdog.ping.timeout";
+    public static final String WATCHDOG_ABORT_PROPERTY = "watchdog.abort";
+    public static final String BIDI_ENABLED_PROPERTY = "bidi.enabled";
+    public static final String LOCATOR_CACHE_SIZE_PROPERTY = "locator.cache.size";
+    public static final String ELEMENT_CACHE_ENABLED_PROPERTY = "element.cache.enabled";
+    public static final String WAIT_POLL_MIN_PROPERTY = "wait.poll.min";
+    public static final String WAIT_POLL_MAX_PROPERTY = "wait.poll.max";
+    public static final String WAIT_STEP_BUDGET_PROPERTY = "wait.step.budget";
+    public static final String WAIT_BROWSER_SIDE_PROPERTY = "wait.browser.side";
+    public static final String CLICK_MEMORY_ENABLED_PROPERTY = "click.memory.enabled";
+    public static final String CLICK_MEMORY_FILE_PROPERTY = "click.memory.file";
+    public static final String NETWORK_IDLE_QUIET_PROPERTY = "network.idle.quiet";
+    public static final String NETWORK_IDLE_MAX_INFLIGHT_PROPERTY = "network.idle.max.inflight";
+    public static final String LINK_CHECK_PER_HOST_PROPERTY = "link.check.per.host";
+    public static final String LINK_CHECK_TIMEOUT_PROPERTY = "link.check.timeout";
+    public static final String PAGE_LOAD_STRATEGY_PROPERTY = "page.load.strategy";
 
     // ==================== DEFAULT VALUES ====================
     public static final String CONFIG_PROPERTIES_FILE = System.getProperty(ENV_FILE_PROPERTY, "dev-env.properties");
@@ -38,6 +73,40 @@ public class Constants {
     public static final boolean DEFAULT_REMOTE_ENABLED = false;
     public static final boolean DEFAULT_GRID_ENABLED = false;
     public static final String DEFAULT_BROWSER = BrowserType.CHROME.toString();
+    public static final boolean DEFAULT_POOL_ENABLED = false;
+    public static final int DEFAULT_POOL_SIZE = 1;
+    public static final long DEFAULT_POOL_BORROW_TIMEOUT = 120000;
+    public static final boolean DEFAULT_RECYCLE_ENABLED = false;
+    public static final int DEFAULT_RECYCLE_MAX_REUSE = 10;
+    public static final String DEFAULT_DRIVER_CACHE_DIR = "target/driver-cache";
+    public static final boolean DEFAULT_DRIVER_OFFLINE = false;
+    public static final boolean DEFAULT_GOVERNOR_ENABLED = false;
+    public static final int DEFAULT_GOVERNOR_MAX_SESSIONS = 0; // 0 = derive from CPU, memory and /dev/shm
+    public static final long DEFAULT_GOVERNOR_SESSION_MEMORY_MB = 768;
+    public static final long DEFAULT_GOVERNOR_SESSION_SHM_MB = 256;
+    public static final long DEFAULT_GOVERNOR_ACQUIRE_TIMEOUT = 300000;
+    public static final boolean DEFAULT_GRID_BROKER_ENABLED = false;
+    public static final long DEFAULT_GRID_BROKER_TIMEOUT = 300000;
+    public static final long DEFAULT_GRID_BROKER_BACKOFF = 500;
+    public static final boolean DEFAULT_VIRTUAL_THREADS = false;
+    public static final boolean DEFAULT_WATCHDOG_ENABLED = false;
+    public static final long DEFAULT_WATCHDOG_INTERVAL = 15000;
+    public static final long DEFAULT_WATCHDOG_PING_TIMEOUT = 60000;
+    public static final boolean DEFAULT_WATCHDOG_ABORT = true;
+    public static final boolean DEFAULT_BIDI_ENABLED = false;
+    public static final int DEFAULT_LOCATOR_CACHE_SIZE = 4096;
+    public static final boolean DEFAULT_ELEMENT_CACHE_ENABLED = false;
+    public static final long DEFAULT_WAIT_POLL_MIN = 25;
+    public static final long DEFAULT_WAIT_POLL_MAX = 500;
+    public static final long DEFAULT_WAIT_STEP_BUDGET = 0; // 0 = off
+    public static final boolean DEFAULT_WAIT_BROWSER_SIDE = false;
+    public static final boolean DEFAULT_CLICK_MEMORY_ENABLED = false;
+    public static final String DEFAULT_CLICK_MEMORY_FILE = ""; // empty = remembered for the run only
+    public static final long DEFAULT_NETWORK_IDLE_QUIET = 500;
+    public static final int DEFAULT_NETWORK_IDLE_MAX_INFLIGHT = 2; // tolerate long-polling and analytics beacons
+    public static final int DEFAULT_LINK_CHECK_PER_HOST = 6;
+    public static final long DEFAULT_LINK_CHECK_TIMEOUT = 10000;
+    public static final String DEFAULT_PAGE_LOAD_STRATEGY = "";
 
     // ==================== RUNTIME VALUES ====================
     private static volatile boolean initialized = false;
@@ -3,6 +3,8 @@ package org.example.configure;
 import lombok.extern.slf4j.Slf4j;
 import org.example.common.Constants;
 import org.example.enums.BrowserType;
+import org.example.enums.LaunchProfile;
+import org.openqa.selenium.PageLoadStrategy;
 
 import java.io.InputStream;
 import java.util.List;
@@ -178,6 +180,234 @@ public class Config {
         return Long.parseLong(timeout);
     }
 
+    public static boolean isPoolEnabled() {
+        String enabled = System.getProperty(Constants.POOL_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_POOL_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    public static int getPoolSize() {
+        String size = System.getProperty(Constants.POOL_SIZE_PROPERTY, String.valueOf(Constants.DEFAULT_POOL_SIZE));
+        return Math.max(1, Integer.parseInt(size.trim()));
+    }
+
+    public static long getPoolBorrowTimeout() {
+        String timeout = System.getProperty(Constants.POOL_BORROW_TIMEOUT_PROPERTY, String.valueOf(Constants.DEFAULT_POOL_BORROW_TIMEOUT));
+        return Long.parseLong(timeout.trim());
+    }
+
+    public static boolean isRecycleEnabled() {
+        String enabled = System.getProperty(Constants.RECYCLE_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_RECYCLE_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    public static int getRecycleMaxReuse() {
+        String max = System.getProperty(Constants.RECYCLE_MAX_REUSE_PROPERTY, String.valueOf(Constants.DEFAULT_RECYCLE_MAX_REUSE));
+        return Integer.parseInt(max.trim());
+    }
+
+    public static String getDriverCacheDir() {
+        String dir = System.getProperty(Constants.DRIVER_CACHE_DIR_PROPERTY);
+        if (dir != null && !dir.trim().isEmpty()) {
+            return dir.trim();
+        }
+        return Constants.DEFAULT_DRIVER_CACHE_DIR;
+    }
+
+    public static boolean isDriverOffline() {
+        String offline = System.getProperty(Constants.DRIVER_OFFLINE_PROPERTY, String.valueOf(Constants.DEFAULT_DRIVER_OFFLINE));
+        return Boolean.parseBoolean(offline);
+    }
+
+    public static boolean isGovernorEnabled() {
+        String enabled = System.getProperty(Constants.GOVERNOR_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_GOVERNOR_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    public static int getGovernorMaxSessions() {
+        String max = System.getProperty(Constants.GOVERNOR_MAX_SESSIONS_PROPERTY, String.valueOf(Constants.DEFAULT_GOVERNOR_MAX_SESSIONS));
+        return Integer.parseInt(max.trim());
+    }
+
+    public static long getGovernorSessionMemoryMb() {
+        String mb = System.getProperty(Constants.GOVERNOR_SESSION_MEMORY_PROPERTY, String.valueOf(Constants.DEFAULT_GOVERNOR_SESSION_MEMORY_MB));
+        return Math.max(1, Long.parseLong(mb.trim()));
+    }
+
+    public static long getGovernorSessionShmMb() {
+        String mb = System.getProperty(Constants.GOVERNOR_SESSION_SHM_PROPERTY, String.valueOf(Constants.DEFAULT_GOVERNOR_SESSION_SHM_MB));
+        return Math.max(1, Long.parseLong(mb.trim()));
+    }
+
+    public static long getGovernorAcquireTimeout() {
+        String timeout = System.getProperty(Constants.GOVERNOR_ACQUIRE_TIMEOUT_PROPERTY, String.valueOf(Constants.DEFAULT_GOVERNOR_ACQUIRE_TIMEOUT));
+        return Long.parseLong(timeout.trim());
+    }
+
+    public static boolean isGridBrokerEnabled() {
+        String enabled = System.getProperty(Constants.GRID_BROKER_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_GRID_BROKER_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    public static long getGridBrokerTimeout() {
+        String timeout = System.getProperty(Constants.GRID_BROKER_TIMEOUT_PROPERTY, String.valueOf(Constants.DEFAULT_GRID_BROKER_TIMEOUT));
+        return Long.parseLong(timeout.trim());
+    }
+
+    public static long getGridBrokerBackoff() {
+        String backoff = System.getProperty(Constants.GRID_BROKER_BACKOFF_PROPERTY, String.valueOf(Constants.DEFAULT_GRID_BROKER_BACKOFF));
+        return Long.parseLong(backoff.trim());
+    }
+
+    public static boolean isVirtualThreadsEnabled() {
+        String enabled = System.getProperty(Constants.VIRTUAL_THREADS_PROPERTY, String.valueOf(Constants.DEFAULT_VIRTUAL_THREADS));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    public static boolean isWatchdogEnabled() {
+        String enabled = System.getProperty(Constants.WATCHDOG_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_WATCHDOG_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    public static long getWatchdogInterval() {
+        String interval = System.getProperty(Constants.WATCHDOG_INTERVAL_PROPERTY, String.valueOf(Constants.DEFAULT_WATCHDOG_INTERVAL));
+        return Long.parseLong(interval.trim());
+    }
+
+    public static long getWatchdogPingTimeout() {
+        String timeout = System.getProperty(Constants.WATCHDOG_PING_TIMEOUT_PROPERTY, String.valueOf(Constants.DEFAULT_WATCHDOG_PING_TIMEOUT));
+        return Long.parseLong(timeout.trim());
+    }
+
+    public static boolean isWatchdogAbortEnabled() {
+        String enabled = System.getProperty(Constants.WATCHDOG_ABORT_PROPERTY, String.valueOf(Constants.DEFAULT_WATCHDOG_ABORT));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    /**
+     * Open Firefox sessions with a WebDriver BiDi connection (webSocketUrl) so browser events are pushed
+     * instead of polled. Chrome and Edge use CDP and do not need it.
+     */
+    public static boolean isBidiEnabled() {
+        String enabled = System.getProperty(Constants.BIDI_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_BIDI_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    /**
+     * Maximum number of parsed locators kept by LocatorCache; 0 disables caching.
+     */
+    public static int getLocatorCacheSize() {
+        String size = System.getProperty(Constants.LOCATOR_CACHE_SIZE_PROPERTY, String.valueOf(Constants.DEFAULT_LOCATOR_CACHE_SIZE));
+        return Integer.parseInt(size.trim());
+    }
+
+    /**
+     * Default for the per-control WebElement handle cache; controls can still opt in with cacheElement(true).
+     */
+    public static boolean isElementCacheEnabled() {
+        String enabled = System.getProperty(Constants.ELEMENT_CACHE_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_ELEMENT_CACHE_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    /**
+     * First polling interval of WaitEngine (ms); it doubles on every miss up to wait.poll.max.
+     */
+    public static long getWaitPollMin() {
+        String interval = System.getProperty(Constants.WAIT_POLL_MIN_PROPERTY, String.valueOf(Constants.DEFAULT_WAIT_POLL_MIN));
+        return Long.parseLong(interval.trim());
+    }
+
+    public static long getWaitPollMax() {
+        String interval = System.getProperty(Constants.WAIT_POLL_MAX_PROPERTY, String.valueOf(Constants.DEFAULT_WAIT_POLL_MAX));
+        return Long.parseLong(interval.trim());
+    }
+
+    /**
+     * Total wait time allowed inside one @Step (ms); 0 disables the budget.
+     */
+    public static long getWaitStepBudget() {
+        String budget = System.getProperty(Constants.WAIT_STEP_BUDGET_PROPERTY, String.valueOf(Constants.DEFAULT_WAIT_STEP_BUDGET));
+        return Long.parseLong(budget.trim());
+    }
+
+    /**
+     * Let control waits resolve inside the page via MutationObserver before the regular polling wait.
+     */
+    public static boolean isBrowserSideWaitEnabled() {
+        String enabled = System.getProperty(Constants.WAIT_BROWSER_SIDE_PROPERTY, String.valueOf(Constants.DEFAULT_WAIT_BROWSER_SIDE));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    /**
+     * Try the click strategy that last worked for a locator first.
+     */
+    public static boolean isClickMemoryEnabled() {
+        String enabled = System.getProperty(Constants.CLICK_MEMORY_ENABLED_PROPERTY, String.valueOf(Constants.DEFAULT_CLICK_MEMORY_ENABLED));
+        return Boolean.parseBoolean(enabled);
+    }
+
+    /**
+     * File the remembered click strategies are loaded from and saved to after the suite; empty to keep them per run.
+     */
+    public static String getClickMemoryFile() {
+        return System.getProperty(Constants.CLICK_MEMORY_FILE_PROPERTY, Constants.DEFAULT_CLICK_MEMORY_FILE).trim();
+    }
+
+    /**
+     * Milliseconds without network or tracked timer activity after which a page counts as idle.
+     */
+    public static long getNetworkIdleQuiet() {
+        String quiet = System.getProperty(Constants.NETWORK_IDLE_QUIET_PROPERTY, String.valueOf(Constants.DEFAULT_NETWORK_IDLE_QUIET));
+        return Long.parseLong(quiet.trim());
+    }
+
+    /**
+     * Requests that may stay open while a page counts as idle.
+     */
+    public static int getNetworkIdleMaxInflight() {
+        String max = System.getProperty(Constants.NETWORK_IDLE_MAX_INFLIGHT_PROPERTY, String.valueOf(Constants.DEFAULT_NETWORK_IDLE_MAX_INFLIGHT));
+        return Integer.parseInt(max.trim());
+    }
+
+    /**
+     * Link checks sent to one host at the same time.
+     */
+    public static int getLinkCheckPerHost() {
+        String limit = System.getProperty(Constants.LINK_CHECK_PER_HOST_PROPERTY, String.valueOf(Constants.DEFAULT_LINK_CHECK_PER_HOST));
+        return Integer.parseInt(limit.trim());
+    }
+
+    /**
+     * Timeout of one link check request in milliseconds.
+     */
+    public static long getLinkCheckTimeout() {
+        String timeout = System.getProperty(Constants.LINK_CHECK_TIMEOUT_PROPERTY, String.valueOf(Constants.DEFAULT_LINK_CHECK_TIMEOUT));
+        return Long.parseLong(timeout.trim());
+    }
+
+    /**
+     * Page-load strategy overriding the launch profile's (normal, eager or none); null when not set.
+     */
+    public static PageLoadStrategy getPageLoadStrategy() {
+        String strategy = System.getProperty(Constants.PAGE_LOAD_STRATEGY_PROPERTY, Constants.DEFAULT_PAGE_LOAD_STRATEGY).trim();
+        for (PageLoadStrategy value : PageLoadStrategy.values()) {
+            if (value.toString().equalsIgnoreCase(strategy)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Launch profile: System property first (-Dlaunch.profile=throughput), then the env properties file.
+     */
+    public static LaunchProfile getLaunchProfile() {
+        String profile = System.getProperty(Constants.LAUNCH_PROFILE_PROPERTY);
+        if ((profile == null || profile.trim().isEmpty()) && envConfig != null) {
+            profile = getEnvironmentValue(Constants.LAUNCH_PROFILE_PROPERTY);
+        }
+        return LaunchProfile.fromString(profile);
+    }
+
     public static String getEnvFile() {
         String file = System.getProperty(Constants.ENV_FILE_PROPERTY);
         if (file != null && !file.trim().isEmpty()) {
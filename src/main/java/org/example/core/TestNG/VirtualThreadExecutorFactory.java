@@ -0,0 +1,26 @@
+package org.example.core.TestNG;
+
+import org.example.utils.VirtualThreads;
+import org.testng.IExecutorServiceFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG executor factory whose workers are virtual threads, installed with
+ * -threadpoolfactoryclass (see the virtual-threads Maven profile).
+ * Scheduling (dependency graph, thread-count) stays TestNG's own; only the worker threads change.
+ * Without virtual thread support TestNG's own thread factory is kept.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        ThreadFactory workers = VirtualThreads.isEnabled() ? VirtualThreads.factory("testng") : threadFactory;
+        return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, workers);
+    }
+}
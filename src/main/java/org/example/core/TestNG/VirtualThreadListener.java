@@ -0,0 +1,105 @@
+package org.example.core.TestNG;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+import org.example.utils.VirtualThreads;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Suite listener for the virtual-threads profile, next to {@link VirtualThreadExecutorFactory} which runs the
+ * test methods on virtual threads: records every jdk.VirtualThreadPinned event (a virtual thread blocking inside
+ * synchronized or native code) so pinning sites are listed when the suite finishes.
+ * Does nothing unless virtual.threads=true on Java 21+.
+ */
+@Slf4j
+public class VirtualThreadListener implements ISuiteListener {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+    private static final int TOP_SITES = 10;
+
+    private final Map<String, AtomicLong> pinnedSites = new ConcurrentHashMap<>();
+    private volatile RecordingStream pinningMonitor;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!Config.isVirtualThreadsEnabled()) {
+            return;
+        }
+        if (!VirtualThreads.isSupported()) {
+            log.warn("virtual.threads=true needs Java 21+, running on Java {}; using platform threads",
+                    Runtime.version().feature());
+            return;
+        }
+        log.info("Running test methods of suite '{}' on virtual threads", suite.getName());
+        startPinningMonitor();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        RecordingStream monitor = pinningMonitor;
+        if (monitor == null) {
+            return;
+        }
+        try {
+            // RecordingStream.stop() (Java 20+) delivers buffered events before closing
+            RecordingStream.class.getMethod("stop").invoke(monitor);
+        } catch (ReflectiveOperationException e) {
+            log.debug("Pinning monitor stop failed: {}", e.getMessage());
+        }
+        monitor.close();
+        pinningMonitor = null;
+        if (pinnedSites.isEmpty()) {
+            log.info("Virtual thread pinning: none over {} ms", PINNED_THRESHOLD.toMillis());
+            return;
+        }
+        long total = pinnedSites.values().stream().mapToLong(AtomicLong::get).sum();
+        String sites = pinnedSites.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                .limit(TOP_SITES)
+                .map(e -> "  " + e.getValue().get() + "x " + e.getKey())
+                .collect(Collectors.joining("\n"));
+        log.warn("Virtual thread pinning: {} event(s) over {} ms at:\n{}", total, PINNED_THRESHOLD.toMillis(), sites);
+    }
+
+    private void startPinningMonitor() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(PINNED_THRESHOLD).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::recordPinning);
+            stream.startAsync();
+            pinningMonitor = stream;
+        } catch (RuntimeException e) {
+            log.warn("Could not start virtual thread pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    private void recordPinning(RecordedEvent event) {
+        pinnedSites.computeIfAbsent(pinningSite(event.getStackTrace()), site -> new AtomicLong()).incrementAndGet();
+    }
+
+    // first frame outside the JDK, i.e. the framework or library code that blocked while pinned
+    private static String pinningSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "<jdk internal>";
+    }
+}
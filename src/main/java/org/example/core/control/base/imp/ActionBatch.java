@@ -0,0 +1,169 @@
+package org.example.core.control.base.imp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.core.control.util.DriverUtils;
+import org.example.core.control.util.ElementCache;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queue of interactions sent to the browser as one W3C Actions chain.
+ * Preconditions (displayed, scrolled into view, clickable) are checked once per control for the whole batch
+ * instead of once per click, and pauses between clicks run inside the browser rather than as extra round trips.
+ * <pre>
+ * ActionBatch.create().click(plusButton, 3).type(nameBox, "abc").perform();
+ * </pre>
+ * If the chain of a click-only batch on a single control is rejected because the control is off screen, the
+ * clicks are replayed as one script of element.click() calls: the move is the chain's first action, so no click
+ * was dispatched yet. Any other rejection is rethrown, since the clicks before it already ran and replaying them
+ * would click twice.
+ */
+@Slf4j
+public class ActionBatch {
+
+    private enum Kind { CLICK, TYPE, PAUSE }
+
+    private static final class Step {
+        final Kind kind;
+        final BaseControl control;
+        final int times;
+        final CharSequence text;
+        final Duration pause;
+
+        Step(Kind kind, BaseControl control, int times, CharSequence text, Duration pause) {
+            this.kind = kind;
+            this.control = control;
+            this.times = times;
+            this.text = text;
+            this.pause = pause;
+        }
+    }
+
+    private final List<Step> steps = new ArrayList<>();
+    // identity: two controls with the same locator are still validated separately
+    private final Set<BaseControl> controls = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Duration clickGap = Duration.ofMillis(100);
+
+    public static ActionBatch create() {
+        return new ActionBatch();
+    }
+
+    public ActionBatch click(BaseControl control) {
+        return click(control, 1);
+    }
+
+    /**
+     * Click the control the given number of times, with {@link #clickGap} between clicks.
+     */
+    public ActionBatch click(BaseControl control, int times) {
+        if (times > 0) {
+            steps.add(new Step(Kind.CLICK, control, times, null, null));
+            controls.add(control);
+        }
+        return this;
+    }
+
+    public ActionBatch type(BaseControl control, CharSequence text) {
+        steps.add(new Step(Kind.TYPE, control, 1, text, null));
+        controls.add(control);
+        return this;
+    }
+
+    public ActionBatch pause(Duration pause) {
+        steps.add(new Step(Kind.PAUSE, null, 0, null, pause));
+        return this;
+    }
+
+    /**
+     * Pause between repeated clicks on the same control so the page can re-render (default 100 ms).
+     */
+    public ActionBatch clickGap(Duration gap) {
+        this.clickGap = gap;
+        return this;
+    }
+
+    public void perform() {
+        if (steps.isEmpty()) {
+            return;
+        }
+        WebDriver driver = DriverUtils.getDriver();
+        Map<BaseControl, WebElement> elements = new IdentityHashMap<>();
+        for (BaseControl control : controls) {
+            elements.put(control, prepare(control));
+        }
+
+        Actions actions = new Actions(driver);
+        BaseControl pointerAt = null;
+        for (Step step : steps) {
+            switch (step.kind) {
+                case CLICK:
+                    if (step.control != pointerAt) {
+                        actions.moveToElement(elements.get(step.control));
+                        pointerAt = step.control;
+                    }
+                    for (int i = 0; i < step.times; i++) {
+                        if (i > 0) {
+                            actions.pause(clickGap);
+                        }
+                        actions.click();
+                    }
+                    break;
+                case TYPE:
+                    actions.sendKeys(elements.get(step.control), step.text);
+                    pointerAt = step.control;
+                    break;
+                case PAUSE:
+                    actions.pause(step.pause);
+                    break;
+            }
+        }
+
+        try {
+            log.debug("Performing batch of {} step(s) on {} control(s)", steps.size(), controls.size());
+            actions.perform();
+        } catch (MoveTargetOutOfBoundsException e) {
+            if (controls.size() > 1 || steps.stream().anyMatch(step -> step.kind == Kind.TYPE)) {
+                throw e;
+            }
+            log.info("Action chain rejected ({}), replaying clicks by script", e.getMessage().split("\n")[0]);
+            performByScript(driver, elements);
+        } finally {
+            // the clicks may have re-rendered or navigated the page
+            ElementCache.invalidate(driver);
+        }
+    }
+
+    private WebElement prepare(BaseControl control) {
+        int timeout = DriverUtils.getTimeOut();
+        if (!control.isVisible()) {
+            control.waitForDisplay(timeout);
+        }
+        control.scrollElementToCenterScreen();
+        control.waitForElementClickable(timeout);
+        return control.getElement();
+    }
+
+    private void performByScript(WebDriver driver, Map<BaseControl, WebElement> elements) {
+        List<WebElement> clicks = new ArrayList<>();
+        for (Step step : steps) {
+            if (step.kind == Kind.CLICK) {
+                for (int i = 0; i < step.times; i++) {
+                    clicks.add(elements.get(step.control));
+                }
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(
+                "arguments[0].forEach(function (el) { el.click(); });", clicks);
+    }
+}
@@ -2,16 +2,26 @@ package org.example.core.control.base.imp;
 
 import lombok.extern.slf4j.Slf4j;
 import org.example.common.Constants;
+import org.example.configure.Config;
 import org.example.core.control.base.IBaseControl;
+import org.example.core.control.util.BrowserWaiter;
+import org.example.core.control.util.BulkExtractor;
 import org.example.core.control.util.DriverUtils;
+import org.example.core.control.util.WaitEngine;
+import org.example.core.control.util.ElementCache;
+import org.example.core.control.util.FrameContext;
+import org.example.core.control.util.LocatorChain;
+import org.example.core.control.util.LocatorCache;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 public class BaseControl implements IBaseControl {
@@ -20,6 +30,10 @@ public class BaseControl implements IBaseControl {
     private By byLocator;
     private String dynamicLocator;
     private BaseControl parent;
+    private boolean cacheElement = Config.isElementCacheEnabled();
+    private WebElement cachedElement;
+    private WebDriver cachedDriver;
+    private long cachedGeneration;
 
     public BaseControl(String locator) {
         this.locator = locator;
@@ -57,7 +71,24 @@ public class BaseControl implements IBaseControl {
     }
 
     protected WebDriver getDriver() {
-        return DriverUtils.getWebDriver();
+        WebDriver driver = DriverUtils.getWebDriver();
+        // put the session in this control's frame; no round trip when it is there already
+        FrameContext.select(driver, getFrames());
+        return driver;
+    }
+
+    // frames of the root control's locator chain, relative to the frame selected with Frame.switchTo
+    private List<By> getFrames() {
+        if (parent != null) {
+            return parent.getFrames();
+        }
+        if (byLocator instanceof LocatorChain) {
+            return ((LocatorChain) byLocator).getFrames();
+        }
+        if (byLocator instanceof IndexedBy) {
+            return ((IndexedBy) byLocator).frames;
+        }
+        return List.of();
     }
 
     protected JavascriptExecutor jsExecutor() {
@@ -65,32 +96,123 @@ public class BaseControl implements IBaseControl {
     }
 
     private By getByLocator() {
-        String body = this.locator.replaceAll("[\\w\\s]*=(.*)", "$1").trim();
-        String type = this.locator.replaceAll("([\\w\\s]*)=.*", "$1").trim();
-        switch (type.toLowerCase()) {
-            case "css":
-                return By.cssSelector(body);
-            case "id":
-                return By.id(body);
-            case "class":
-                return By.className(body);
-            case "link":
-                return By.linkText(body);
-            case "xpath":
-                return By.xpath(body);
-            case "text":
-                return By.xpath(String.format("//*[contains(text(), '%s')]", body));
-            case "name":
-                return By.name(body);
-            default:
-                return By.xpath(locator);
-        }
+        return LocatorCache.get(this.locator);
     }
 
     private WebElement getParent() {
         return parent.getElement();
     }
 
+    /**
+     * Reuse the resolved WebElement of this control, and of its parents, until the page navigates, the window
+     * or frame changes, or the handle goes stale. Off by default (element.cache.enabled).
+     */
+    public BaseControl cacheElement(boolean enabled) {
+        this.cacheElement = enabled;
+        if (!enabled) {
+            invalidateElement();
+        }
+        return this;
+    }
+
+    /**
+     * Forget the cached handle of this control and its parents.
+     */
+    public void invalidateElement() {
+        cachedElement = null;
+        if (parent != null) {
+            parent.invalidateElement();
+        }
+    }
+
+    /**
+     * Run an action on the element; with the cache on, a stale cached handle is dropped and the action
+     * retried once on a freshly found element.
+     */
+    protected <T> T withElement(Function<WebElement, T> action) {
+        try {
+            return action.apply(getElement());
+        } catch (StaleElementReferenceException e) {
+            if (!cacheElement) {
+                throw e;
+            }
+            invalidateElement();
+            return action.apply(getElement());
+        }
+    }
+
+    // the cached handle if it is still valid for the current page, without a round trip
+    protected WebElement getCachedElement() {
+        if (!cacheElement || cachedElement == null) {
+            return null;
+        }
+        WebDriver driver = getDriver();
+        if (cachedDriver != driver || cachedGeneration != ElementCache.generation(driver)) {
+            return null;
+        }
+        ElementCache.recordHit(chainDepth());
+        return cachedElement;
+    }
+
+    private WebElement resolveElement(boolean useCache) {
+        WebDriver driver = getDriver();
+        if (useCache) {
+            WebElement cached = cachedElement;
+            long generation = ElementCache.generation(driver);
+            if (cached != null && cachedDriver == driver && cachedGeneration == generation) {
+                ElementCache.recordHit(chainDepth());
+                return cached;
+            }
+            ElementCache.recordMiss();
+            try {
+                WebElement element = parent != null
+                        ? parent.resolveElement(true).findElement(getLocator())
+                        : driver.findElement(getLocator());
+                cachedElement = element;
+                cachedDriver = driver;
+                cachedGeneration = generation;
+                return element;
+            } catch (StaleElementReferenceException e) {
+                // a cached parent went stale
+                invalidateElement();
+                log.debug("Stale cached parent for '{}', resolving again", getLocator());
+                return resolveElement(false);
+            }
+        }
+        if (parent != null) {
+            return parent.resolveElement(false).findElement(getLocator());
+        }
+        return driver.findElement(getLocator());
+    }
+
+    /**
+     * With wait.browser.side, wait for the condition inside the page first (see {@link BrowserWaiter}) and return
+     * the timeout left for the regular wait: the full timeout when the page saw the condition, so the regular wait
+     * confirms it on its first check; zero when it timed out; the remaining time when the page could not run it.
+     */
+    protected Duration browserSideWait(String condition, int timeOutInSeconds, String a, String b) {
+        Duration timeout = Duration.ofSeconds(timeOutInSeconds);
+        if (!Config.isBrowserSideWaitEnabled() || parent != null) {
+            return timeout;
+        }
+        Duration budget = WaitEngine.remainingBudget();
+        Duration browserTimeout = budget != null && budget.compareTo(timeout) < 0 ? budget : timeout;
+        long start = System.nanoTime();
+        switch (BrowserWaiter.await(getDriver(), getLocator(), condition, a, b, browserTimeout)) {
+            case MET:
+                return timeout;
+            case TIMED_OUT:
+                return Duration.ZERO;
+            default:
+                Duration left = timeout.minusNanos(System.nanoTime() - start);
+                return left.isNegative() ? Duration.ZERO : left;
+        }
+    }
+
+    private int chainDepth() {
+        return parent == null ? 1 : 1 + parent.chainDepth();
+    }
+
     @Override
     public void dragAndDrop(int xOffset, int yOffset) {
         Actions actions = new Actions(getDriver());
@@ -111,7 +233,7 @@ public class BaseControl implements IBaseControl {
     public String getAttribute(String attributeName) {
         try {
             log.debug(String.format("Get attribute '%s' of element %s", attributeName, getLocator().toString()));
-            return getElement().getAttribute(attributeName);
+            return withElement(e -> e.getAttribute(attributeName));
         } catch (Exception e) {
             log.error(String.format("Has error with control '%s': %s", getLocator().toString(), e.getMessage().split("\n")[0]));
             throw e;
@@ -141,15 +263,8 @@ public class BaseControl implements IBaseControl {
 
     @Override
     public WebElement getElement() {
-        WebElement element = null;
         try {
-            if (parent != null) {
-                WebElement eleParent = parent.getElement();
-                element = eleParent.findElement(getLocator());
-            } else {
-                element = getDriver().findElement(getLocator());
-            }
-            return element;
+            return resolveElement(cacheElement);
         } catch (StaleElementReferenceException e) {
             log.error(
                     String.format("StaleElementReferenceException '%s': %s", getLocator().toString(), e.getMessage().split("\n")[0]));
@@ -160,48 +275,68 @@ public class BaseControl implements IBaseControl {
     @Override
     public List<WebElement> getElements() {
         if (parent != null)
-            return parent.getElement().findElements(getLocator());
+            return parent.resolveElement(cacheElement).findElements(getLocator());
         return getDriver().findElements(getLocator());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * One control per element matching this control's locator. Each control wraps the element already found;
+     * it is looked up again by its index in the list only when it goes stale or the page changes.
+     */
     public <T extends BaseControl> List<T> getListElements(Class<?> clazz) {
-        String js = "function getElementTreeXPath(e){for(var n=[];e&&1==e.nodeType;e=e.parentNode){for(var o=0,r=e.previousSibling;r;r=r.previousSibling)r.nodeType!=Node.DOCUMENT_TYPE_NODE&&r.nodeName==e.nodeName&&++o;var t=e.nodeName.toLowerCase(),a=o?'['+(o+1)+']':'[1]';n.splice(0,0,t+a)}return n.length?'/'+n.join('/'):null} return getElementTreeXPath(arguments[0]);";
-        List<T> result = new ArrayList<T>();
-        List<WebElement> list = getElements();
-        for (WebElement webEle : list) {
-            try {
-                String xpath = (String) DriverUtils.execJavaScript(js, webEle);
-                Constructor<?> ctor = clazz.getDeclaredConstructor(By.class);
-                ctor.setAccessible(true);
-                T element = (T) ctor.newInstance(By.xpath(xpath));
-                result.add(element);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-        return result;
+        By listLocator = getLocator();
+        return wrapElements(clazz, getElements(), this::getElements, listLocator.toString());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * One control per element matching the xpath inside this control, wrapping the elements already found.
+     */
     public <T extends BaseControl> List<T> getListElements(Class<?> clazz, String locator) {
+        By listLocator = By.xpath(locator);
+        return wrapElements(clazz, getElement().findElements(listLocator),
+                () -> getElement().findElements(listLocator), listLocator.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends BaseControl> List<T> wrapElements(Class<?> clazz, List<WebElement> found,
+                                                         Supplier<List<WebElement>> refind, String description) {
         List<T> result = new ArrayList<>();
-        List<WebElement> list = getElement().findElements(By.xpath(locator));
-        for (WebElement webEle : list) {
+        Constructor<?> ctor;
+        try {
+            ctor = clazz.getDeclaredConstructor(By.class);
+            ctor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            log.error("{} has no By constructor; cannot build list controls", clazz.getName());
+            return result;
+        }
+        for (int i = 0; i < found.size(); i++) {
             try {
-                String js = "function getElementTreeXPath(e){for(var n=[];e&&1==e.nodeType;e=e.parentNode){for(var o=0,r=e.previousSibling;r;r=r.previousSibling)r.nodeType!=Node.DOCUMENT_TYPE_NODE&&r.nodeName==e.nodeName&&++o;var t=e.nodeName.toLowerCase(),a=o?'['+(o+1)+']':'[1]';n.splice(0,0,t+a)}return n.length?'/'+n.join('/'):null} return getElementTreeXPath(arguments[0]);";
-                String xpath = (String) DriverUtils.execJavaScript(js, webEle);
-                Constructor<?> ctor = clazz.getDeclaredConstructor(By.class);
-                ctor.setAccessible(true);
-                T element = (T) ctor.newInstance(By.xpath(xpath));
+                T element = (T) ctor.newInstance(new IndexedBy(refind, i, description, getFrames()));
+                ((BaseControl) element).bind(found.get(i));
                 result.add(element);
             } catch (Exception e) {
-                e.printStackTrace();
+                log.error("Could not create {} for list item {} of {}: {}", clazz.getSimpleName(), i, description, e.getMessage());
             }
         }
         return result;
     }
 
+    // adopt an element found by a list lookup as the cached handle; see getListElements
+    private void bind(WebElement element) {
+        WebDriver driver = getDriver();
+        cacheElement = true;
+        cachedElement = element;
+        cachedDriver = driver;
+        cachedGeneration = ElementCache.generation(driver);
+    }
+
+    /**
+     * Collect the extractor's fields for at most limit items inside this control with one executeScript call.
+     */
+    public <T> List<T> extractAll(BulkExtractor extractor, int limit, Function<BulkExtractor.Row, T> mapper) {
+        return extractor.extract(getElement(), limit, mapper);
+    }
+
     @Override
     public By getLocator() {
         return this.byLocator;
@@ -214,14 +349,14 @@ public class BaseControl implements IBaseControl {
 
     @Override
     public String getTagName() {
-        return getElement().getTagName();
+        return withElement(WebElement::getTagName);
     }
 
     @Override
     public String getText() {
         try {
             log.debug(String.format("Get text of element %s", getLocator().toString()));
-            return getElement().getText();
+            return withElement(WebElement::getText);
         } catch (Exception e) {
             log.error(String.format("Has error with control '%s': %s", getLocator().toString(), e.getMessage().split("\n")[0]));
             throw e;
@@ -230,13 +365,19 @@ public class BaseControl implements IBaseControl {
     
     @Override
     public void setText(String text) {
-        getElement().sendKeys(text);
+        withElement(e -> {
+            e.sendKeys(text);
+            return null;
+        });
     }
 
     public void sendKeys(Keys key) {
         try {
             log.debug("Sending key {} to element {}", key, getLocator().toString());
-            getElement().sendKeys(key);
+            withElement(e -> {
+                e.sendKeys(key);
+                return null;
+            });
         } catch (Exception e) {
             log.error("Has error sending key to control '{}': {}", getLocator().toString(), e.getMessage().split("\n")[0]);
             throw e;
@@ -247,7 +388,7 @@ public class BaseControl implements IBaseControl {
     public String getValue() {
         try {
             log.debug(String.format("Get value of element %s", getLocator().toString()));
-            return getElement().getAttribute("value");
+            return withElement(e -> e.getAttribute("value"));
         } catch (Exception e) {
             log.error(String.format("Has error with control '%s': %s", getLocator().toString(), e.getMessage().split("\n")[0]));
             throw e;
@@ -260,8 +401,8 @@ public class BaseControl implements IBaseControl {
         int actualTimeout = Math.min(DriverUtils.getTimeOut(), (int)(Constants.DEFAULT_TIMEOUT / 1000));
         WebDriver driver = getDriver();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.elementToBeClickable(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("clickable", actualTimeout, null, null));
+            wait.until("clickable", ExpectedConditions.elementToBeClickable(getLocator()));
             return true;
         } catch (Exception e) {
             return false;
@@ -270,14 +411,14 @@ public class BaseControl implements IBaseControl {
 
     @Override
     public boolean isDynamicLocator() {
-        return this.locator != null && this.locator.toLowerCase().matches("(.*)%[s|d](.*)");
+        return LocatorCache.isDynamic(this.locator);
     }
 
     @Override
     public boolean isEnabled() {
         try {
             log.debug(String.format("is control enabled or not: %s", getLocator().toString()));
-            return getElement().isEnabled();
+            return withElement(WebElement::isEnabled);
         } catch (Exception e) {
             log.error(String.format("IsEnabled: Has error with control '%s': %s", getLocator().toString(),
                     e.getMessage().split("\n")[0]));
@@ -296,8 +437,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.presenceOfElementLocated(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("present", actualTimeout, null, null));
+            wait.until("presence", ExpectedConditions.presenceOfElementLocated(getLocator()));
             return true;
 
         } catch (TimeoutException e) {
@@ -319,7 +460,7 @@ public class BaseControl implements IBaseControl {
     public boolean isSelected() {
         try {
             log.debug(String.format("is control selected or not: %s", getLocator().toString()));
-            return getElement().isSelected();
+            return withElement(WebElement::isSelected);
         } catch (Exception e) {
             log.error(String.format("IsSelected: Has error with control '%s': %s", getLocator().toString(),
                     e.getMessage().split("\n")[0]));
@@ -335,11 +476,15 @@ public class BaseControl implements IBaseControl {
     @Override
     public boolean isVisible(int timeOutInSeconds) {
         int actualTimeout = Math.min(timeOutInSeconds, (int) (Constants.DEFAULT_TIMEOUT / 1000)); 
-        WebDriver driver = DriverUtils.getDriver();
+        WebDriver driver = getDriver();
+        WebElement cached = getCachedElement();
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("visible", actualTimeout, null, null));
+            ExpectedCondition<WebElement> visible = cached != null
+                    ? ExpectedConditions.visibilityOf(cached)
+                    : ExpectedConditions.visibilityOfElementLocated(getLocator());
+            WebElement element = wait.until("visibility", visible);
             return element.isDisplayed();
 
         } catch (TimeoutException e) {
@@ -351,6 +496,10 @@ public class BaseControl implements IBaseControl {
             return false;
 
         } catch (StaleElementReferenceException e) {
+            if (cached != null) {
+                invalidateElement();
+                return isVisible(timeOutInSeconds);
+            }
             log.debug("isVisible() - Stale element for locator '{}'", getLocator());
             return false;
 
@@ -395,9 +544,10 @@ public class BaseControl implements IBaseControl {
 
     @Override
     public void scrollElementToCenterScreen() {
-        DriverUtils.waitForAutoScrollingStopped();
+        WebElement element = getElement();
+        DriverUtils.waitForAutoScrollingStopped(element);
         String js = "Element.prototype.documentOffsetTop=function(){return this.offsetTop+(this.offsetParent?this.offsetParent.documentOffsetTop():0)};var top=arguments[0].documentOffsetTop()-window.innerHeight/2;window.scrollTo(0,top);";
-        DriverUtils.execJavaScript(js, getElement());
+        DriverUtils.execJavaScript(js, element);
         log.info("Scroll element {} to center of screen", getLocator().toString());
     }
 
@@ -449,6 +599,7 @@ public class BaseControl implements IBaseControl {
     @Override
     public void submit() {
         getElement().submit();
+        ElementCache.invalidate(getDriver());
     }
 
     @Override
@@ -459,12 +610,12 @@ public class BaseControl implements IBaseControl {
     @Override
     public void waitForDisappear(int timeOutInSeconds) {
         int actualTimeout = Math.min(timeOutInSeconds, (int)(Constants.DEFAULT_TIMEOUT / 1000));
-        WebDriver driver = DriverUtils.getDriver();
+        WebDriver driver = getDriver();
         log.info("Wait for control to disappear {} with timeout {} seconds", getLocator().toString(), actualTimeout);
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            boolean invisible = wait.until(ExpectedConditions.invisibilityOfElementLocated(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("invisible", actualTimeout, null, null));
+            boolean invisible = wait.until("invisibility", ExpectedConditions.invisibilityOfElementLocated(getLocator()));
 
             if (!invisible) {
                 log.warn("Element '{}' still visible after {} seconds", getLocator().toString(), actualTimeout);
@@ -495,8 +646,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info("Wait for control display {} with timeout {} seconds", getLocator().toString(), actualTimeout);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.presenceOfElementLocated(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("present", actualTimeout, null, null));
+            wait.until("presence", ExpectedConditions.presenceOfElementLocated(getLocator()));
         } catch (Exception e) {
             log.error("WaitForDisplay timeout after {} seconds for control '{}': {}", 
                 actualTimeout, getLocator().toString(), e.getMessage().split("\n")[0]);
@@ -513,8 +664,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info("Wait for element visible {} with timeout {} seconds", getLocator().toString(), actualTimeout);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("visible", actualTimeout, null, null));
+            wait.until("visibility", ExpectedConditions.visibilityOfElementLocated(getLocator()));
         } catch (Exception e) {
             log.error("waitForElementVisible timeout after {} seconds for control '{}': {}", 
                 actualTimeout, getLocator().toString(), e.getMessage().split("\n")[0]);
@@ -533,8 +684,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info("Wait for element clickable {} with timeout {} seconds", getLocator().toString(), actualTimeout);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.elementToBeClickable(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("clickable", actualTimeout, null, null));
+            wait.until("clickable", ExpectedConditions.elementToBeClickable(getLocator()));
         } catch (Exception e) {
             log.error("WaitForElementClickable timeout after {} seconds for control '{}': {}", 
                 actualTimeout, getLocator().toString(), e.getMessage().split("\n")[0]);
@@ -547,8 +698,8 @@ public class BaseControl implements IBaseControl {
         int actualTimeout = Math.min(timeOutInSecond, (int)(Constants.DEFAULT_TIMEOUT / 1000));
         WebDriver driver = getDriver();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(d -> {
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("disabled", actualTimeout, null, null));
+            wait.until("disabled", d -> {
                 try {
                     WebElement e = d.findElement(getLocator());
                     return !e.isEnabled();
@@ -573,8 +724,8 @@ public class BaseControl implements IBaseControl {
         int actualTimeout = Math.min(timeOutInSecond, (int)(Constants.DEFAULT_TIMEOUT / 1000));
         WebDriver driver = getDriver();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(d -> {
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("enabled", actualTimeout, null, null));
+            wait.until("enabled", d -> {
                 try {
                     WebElement e = d.findElement(getLocator());
                     return e.isEnabled();
@@ -604,8 +755,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info("Wait for invisibility of {} with timeout {} seconds", getLocator().toString(), actualTimeout);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("invisible", actualTimeout, null, null));
+            wait.until("invisibility", ExpectedConditions.invisibilityOfElementLocated(getLocator()));
             log.info("Element {} is now invisible or removed from DOM", getLocator().toString());
         } catch (Exception e) {
             log.warn("waitForInvisibility timeout after {} seconds for control '{}'. Continuing execution.", 
@@ -619,8 +770,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info(String.format("Wait for text not to be present in %s", getLocator().toString()));
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(d -> {
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("no-text", actualTimeout, text, null));
+            wait.until("text absent", d -> {
                 try {
                     WebElement e = d.findElement(getLocator());
                     String t = e.getText();
@@ -641,8 +792,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info(String.format("Wait for text to be present in %s", getLocator().toString()));
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.textToBePresentInElementLocated(getLocator(), text));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("text", actualTimeout, text, null));
+            wait.until("text present", ExpectedConditions.textToBePresentInElementLocated(getLocator(), text));
         } catch (Exception e) {
             log.error(String.format("waitForTextToBePresent: Has error with control '%s': %s",
                     getLocator().toString(), e.getMessage().split("\n")[0]));
@@ -655,8 +806,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info(String.format("Wait for %s not to be present in %s attribute of %s", value, attribute, getLocator().toString()));
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(d -> {
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("no-attribute", actualTimeout, attribute, value));
+            wait.until("attribute value absent", d -> {
                 try {
                     WebElement e = d.findElement(getLocator());
                     String attr = e.getAttribute(attribute);
@@ -677,8 +828,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info(String.format("Wait for %s to be present in %s attribute of %s", value, attribute, getLocator().toString()));
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(d -> {
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("attribute", actualTimeout, attribute, value));
+            wait.until("attribute value present", d -> {
                 try {
                     WebElement e = d.findElement(getLocator());
                     String attr = e.getAttribute(attribute);
@@ -704,8 +855,8 @@ public class BaseControl implements IBaseControl {
         WebDriver driver = getDriver();
         try {
             log.info("Wait for control's visibility {} with timeout {} seconds", getLocator().toString(), actualTimeout);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, browserSideWait("visible", actualTimeout, null, null));
+            wait.until("visibility", ExpectedConditions.visibilityOfElementLocated(getLocator()));
         } catch (Exception e) {
             log.error("waitForVisibility timeout after {} seconds for control '{}': {}", 
                 actualTimeout, getLocator().toString(), e.getMessage().split("\n")[0]);
@@ -731,11 +882,48 @@ public class BaseControl implements IBaseControl {
                 // Element already not present => considered stale
                 return;
             }
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(actualTimeout));
-            wait.until(ExpectedConditions.stalenessOf(element));
+            WaitEngine.Waiter wait = WaitEngine.on(driver, Duration.ofSeconds(actualTimeout));
+            wait.until("staleness", ExpectedConditions.stalenessOf(element));
         } catch (Exception e) {
             log.error(String.format("waitForStalenessOfElement: Has error with control '%s': %s", getLocator().toString(),
                     e.getMessage().split("\n")[0]));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Locator of the n-th element of a list lookup; used to find a list item again after it went stale.
+     */
+    private static final class IndexedBy extends By {
+        private final Supplier<List<WebElement>> list;
+        private final int index;
+        private final String description;
+        private final List<By> frames;
+
+        IndexedBy(Supplier<List<WebElement>> list, int index, String description, List<By> frames) {
+            this.list = list;
+            this.index = index;
+            this.description = description;
+            this.frames = frames;
+        }
+
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            List<WebElement> elements = list.get();
+            return index < elements.size() ? List.of(elements.get(index)) : List.of();
+        }
+
+        @Override
+        public WebElement findElement(SearchContext context) {
+            List<WebElement> elements = findElements(context);
+            if (elements.isEmpty()) {
+                throw new NoSuchElementException("No list item " + index + " for " + description);
+            }
+            return elements.get(0);
+        }
+
+        @Override
+        public String toString() {
+            return description + "[" + index + "]";
+        }
+    }
+}
@@ -2,12 +2,20 @@ package org.example.core.control.base.imp;
 
 import lombok.extern.slf4j.Slf4j;
 import org.example.core.control.base.IClickable;
+import org.example.core.control.util.ClickMemory;
 import org.example.core.control.util.DriverUtils;
+import org.example.core.control.util.WaitEngine;
+import org.example.core.control.util.ElementCache;
+import org.example.core.control.util.Settling;
+import org.example.enums.ClickStrategy;
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
+import java.util.List;
 
 @Slf4j
 public class Clickable extends BaseControl implements IClickable {
@@ -41,60 +49,91 @@ public class Clickable extends BaseControl implements IClickable {
         click(1);
     }
 
+    /**
+     * Click with the real strategy that last worked for this locator first (see {@link ClickMemory}), then the others:
+     * Actions, native, JS. An intercepted click is retried with the next strategy after the page settles, at most
+     * times non-JS attempts in total; any other error goes straight to the JS click.
+     */
     @Override
     public void click(int times) {
-        if (times > 0) {
-            try {
-                log.debug("Click on {}", getLocator().toString());
+        if (times <= 0) {
+            return;
+        }
+        log.debug("Click on {}", getLocator().toString());
+        if (!isVisible()) {
+            waitForDisplay(DriverUtils.getTimeOut());
+        }
+        scrollElementToCenterScreen();
+        waitForElementClickable(DriverUtils.getTimeOut());
 
-                if (!isVisible()) {
-                    waitForDisplay(DriverUtils.getTimeOut());
+        String key = getLocator().toString();
+        List<ClickStrategy> order = ClickMemory.order(key);
+        Exception firstEx = null;
+        Exception lastEx = null;
+        int attempts = 0;
+        for (ClickStrategy strategy : order) {
+            if (lastEx != null && strategy != ClickStrategy.JS) {
+                String errorMsg = firstLine(lastEx);
+                if (!isIntercepted(errorMsg) || attempts >= times) {
+                    continue;
                 }
+                // let whatever intercepted the click (overlay, animation) settle, at most 0.5 s
+                Settling.awaitStable(getDriver(), getElement(), Duration.ofMillis(500));
                 scrollElementToCenterScreen();
-                waitForElementClickable(DriverUtils.getTimeOut());
-
-                new Actions(getDriver()).moveToElement(getElement()).pause(Duration.ofMillis(100)).click().build().perform();
+                log.info("Click retry on '{}' with {}: {}", key, strategy, errorMsg);
+            } else if (lastEx != null) {
+                log.info("Click by JS on '{}': {}", key, firstLine(lastEx));
+            }
+            try {
+                if (strategy != ClickStrategy.JS) {
+                    attempts++;
+                }
+                clickWith(strategy);
+                // the click may navigate or re-render, so no handle of this page is trusted afterwards
+                ElementCache.invalidate(getDriver());
+                ClickMemory.succeeded(key, strategy, firstEx == null);
                 return;
-            } catch (Exception firstEx) {
-                String errorMsg = firstEx.getMessage() == null ? "" : firstEx.getMessage().split("\n")[0];
-                boolean intercepted = errorMsg.contains("Other element would receive the click")
-                        || errorMsg.contains("Element is not clickable at point")
-                        || errorMsg.contains("element click intercepted");
-
-                if (intercepted && times > 0) {
-                    times--;
-                    if (times == 0) {
-                        log.info("Click intercepted on '{}': {}", getLocator().toString(), errorMsg);
-                        clickByJs(); 
-                        return;
-                    }
-
-                    DriverUtils.delay(0.5); // Reduce delay
-                    try {
-                        scrollElementToCenterScreen();
-                        log.info("Click retry on '{}': {}", getLocator().toString(), errorMsg);
-                        getElement().click();
-                        return;
-                    } catch (Exception secondEx) {
-                        if (times == 1) {
-                            log.info("Click retry error on '{}': {}", getLocator().toString(), secondEx.getMessage().split("\n")[0]);
-                            clickByJs();
-                            return;
-                        }
-                        click(times);
-                    }
-                } else {
-                    log.info("Click error on '{}': {}", getLocator().toString(), errorMsg);
-                    // Try JS click as last resort
-                    try {
-                        log.info("Click by JS on '{}'", getLocator().toString());
-                        clickByJs();
-                    } catch (Exception jsEx) {
-                        throw firstEx;
-                    }
+            } catch (Exception e) {
+                invalidateElement();
+                if (firstEx == null) {
+                    firstEx = e;
                 }
+                lastEx = e;
             }
         }
+        throw firstEx instanceof RuntimeException ? (RuntimeException) firstEx : new WebDriverException(firstEx);
+    }
+
+    private void clickWith(ClickStrategy strategy) {
+        switch (strategy) {
+            case ACTIONS:
+                new Actions(getDriver()).moveToElement(getElement()).pause(Duration.ofMillis(100)).click().build().perform();
+                break;
+            case NATIVE:
+                getElement().click();
+                break;
+            case JS:
+                jsExecutor().executeScript("arguments[0].click();", getElement());
+                break;
+        }
+    }
+
+    private static boolean isIntercepted(String errorMsg) {
+        return errorMsg.contains("Other element would receive the click")
+                || errorMsg.contains("Element is not clickable at point")
+                || errorMsg.contains("element click intercepted");
+    }
+
+    private static String firstLine(Exception e) {
+        return e.getMessage() == null ? "" : e.getMessage().split("\n")[0];
+    }
+
+    /**
+     * Click the control count times as one batched action chain; preconditions are checked once.
+     */
+    public void clickRepeatedly(int count) {
+        log.debug("Click {} times on {}", count, getLocator().toString());
+        ActionBatch.create().click(this, count).perform();
     }
 
     @Override
@@ -102,6 +141,7 @@ public class Clickable extends BaseControl implements IClickable {
         try {
             log.debug(String.format("Click on %s", getLocator().toString()));
             new Actions(getDriver()).moveToElement(getElement(), x, y).click().build().perform();
+            ElementCache.invalidate(getDriver());
         } catch (Exception e) {
             log.error(String.format("Has error with control '%s': %s", getLocator().toString(), e.getMessage().split("\n")[0]));
             throw e;
@@ -113,6 +153,7 @@ public class Clickable extends BaseControl implements IClickable {
         try {
             log.debug(String.format("Click by js on %s", getLocator().toString()));
             jsExecutor().executeScript("arguments[0].click();", getElement());
+            ElementCache.invalidate(getDriver());
         } catch (Exception e) {
             log.error(String.format("Has error with control '%s': %s", getLocator().toString(), e.getMessage().split("\n")[0]));
             throw e;
@@ -124,6 +165,7 @@ public class Clickable extends BaseControl implements IClickable {
         try {
             log.debug(String.format("Double click on %s", getLocator().toString()));
             new Actions(getDriver()).doubleClick(getElement()).build().perform();
+            ElementCache.invalidate(getDriver());
         } catch (Exception e) {
             log.error(String.format("Has error with control '%s': %s", getLocator().toString(), e.getMessage().split("\n")[0]));
             throw e;
@@ -142,8 +184,18 @@ public class Clickable extends BaseControl implements IClickable {
                 waitForDisplay(timeOutInSecond);
             }
             log.debug("Wait for element clickable {}", getLocator().toString());
-            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeOutInSecond));
-            wait.until(ExpectedConditions.elementToBeClickable(getLocator()));
+            WaitEngine.Waiter wait = WaitEngine.on(getDriver(), browserSideWait("clickable", timeOutInSecond, null, null));
+            WebElement cached = getCachedElement();
+            if (cached != null) {
+                try {
+                    wait.until("clickable", ExpectedConditions.elementToBeClickable(cached));
+                } catch (StaleElementReferenceException stale) {
+                    invalidateElement();
+                    wait.until("clickable", ExpectedConditions.elementToBeClickable(getLocator()));
+                }
+            } else {
+                wait.until("clickable", ExpectedConditions.elementToBeClickable(getLocator()));
+            }
             
             log.debug("Element is clickable: {}", getLocator().toString());
         } catch (Exception e) {
@@ -3,12 +3,16 @@ package org.example.core.control.common.imp;
 import org.example.core.control.base.imp.BaseControl;
 import org.example.core.control.base.imp.Editable;
 import org.example.core.control.common.ICheckBox;
-import org.example.core.control.util.DriverUtils;
+import org.example.core.control.util.Settling;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 
+import java.time.Duration;
+
 public class CheckBox extends Editable implements ICheckBox {
 
+	private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(1);
+
 	public CheckBox(String locator) {
 		super(locator);
 	}
@@ -37,7 +41,7 @@ public class CheckBox extends Editable implements ICheckBox {
 	public void check() {
 		if (!isSelected()) {
 			click();
-			DriverUtils.delay(1);
+			awaitSelected(true);
 		}
 	}
 
@@ -45,7 +49,7 @@ public class CheckBox extends Editable implements ICheckBox {
 	public void uncheck() {
 		if (isSelected()) {
 			click();
-			DriverUtils.delay(1);
+			awaitSelected(false);
 		}
 	}
 
@@ -74,7 +78,7 @@ public class CheckBox extends Editable implements ICheckBox {
 			boolean selected = el.isSelected();
 			if (value != selected) {
 				el.click();
-				DriverUtils.delay(1);
+				Settling.awaitCondition(getDriver(), "checkbox state", () -> el.isSelected() == value, SETTLE_TIMEOUT);
 			}
 		}
 	}
@@ -83,4 +87,9 @@ public class CheckBox extends Editable implements ICheckBox {
 	public boolean isChecked() {
 		return isSelected();
 	}
+
+	// replaces the fixed 1 s pause after a toggle: returns once the state has flipped
+	private void awaitSelected(boolean expected) {
+		Settling.awaitCondition(getDriver(), "checkbox state", () -> isSelected() == expected, SETTLE_TIMEOUT);
+	}
 }
\ No newline at end of file
@@ -2,7 +2,11 @@ package org.example.core.control.common.imp;
 
 import org.example.core.control.base.imp.BaseControl;
 import org.example.core.control.common.IFrame;
+import org.example.core.control.util.ElementCache;
+import org.example.core.control.util.FrameContext;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 
 public class Frame extends BaseControl implements IFrame {
 
@@ -30,14 +34,38 @@ public class Frame extends BaseControl implements IFrame {
 		super(parent, locator, value);
 	}
 
+	/**
+	 * Select this frame for the controls that follow. When it is recorded as the selected frame, one script
+	 * confirms the session is still inside a frame before the switch is skipped.
+	 */
 	@Override
 	public void switchTo() {
-		getDriver().switchTo().frame(getElement());
+		WebDriver driver = getDriver();
+		String key = getLocator().toString();
+		if (FrameContext.isSelected(driver, key)) {
+			if (isInsideFrame(driver)) {
+				return;
+			}
+			// the top document navigated (target=_top, redirect) and took the session back to it
+			FrameContext.reset(driver);
+			driver = getDriver();
+		}
+		driver.switchTo().frame(getElement());
+		FrameContext.switchedToFrame(driver, key);
+		ElementCache.invalidate(driver);
+	}
+
+	private static boolean isInsideFrame(WebDriver driver) {
+		// window.top is readable across origins, unlike window.frameElement
+		return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript("return window !== window.top;"));
 	}
 
 	@Override
 	public void switchToMainDocument() {
-		getDriver().switchTo().defaultContent();
+		WebDriver driver = getDriver();
+		driver.switchTo().defaultContent();
+		FrameContext.reset(driver);
+		ElementCache.invalidate(driver);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package org.example.core.control.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waits for a DOM condition inside the page: a MutationObserver (plus a throttled requestAnimationFrame check
+ * for changes that are not mutations, e.g. CSS transitions) resolves an executeAsyncScript callback as soon as
+ * the condition holds, so the wait costs one round trip instead of one per poll.
+ * <p>
+ * Only top-level xpath/css/id/name/class locators are supported. When the locator, the browser or the page
+ * context cannot run the script, {@link #await} returns {@link Result#UNSUPPORTED} and the caller polls instead.
+ * The page check approximates Selenium's visibility rules, so callers confirm a positive result with one regular
+ * WebDriver check.
+ */
+@Slf4j
+public final class BrowserWaiter {
+
+    public enum Result { MET, TIMED_OUT, UNSUPPORTED }
+
+    private static final String SCRIPT =
+            "var kind = arguments[0], sel = arguments[1], cond = arguments[2], a = arguments[3], b = arguments[4],"
+            + "    timeout = arguments[5], done = arguments[arguments.length - 1];"
+            + "function find() {"
+            + "  if (kind === 'css') { return document.querySelector(sel); }"
+            + "  return document.evaluate(sel, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "}"
+            + "function visible(e) {"
+            + "  if (!e || !e.isConnected) { return false; }"
+            + "  for (var n = e; n && n.nodeType === 1; n = n.parentElement) {"
+            + "    var s = getComputedStyle(n);"
+            + "    if (s.display === 'none' || (n === e && s.visibility === 'hidden') || s.opacity === '0') { return false; }"
+            + "  }"
+            + "  return e.getClientRects().length > 0;"
+            + "}"
+            + "function text(e) { return e ? (e.innerText !== undefined ? e.innerText : e.textContent) || '' : ''; }"
+            + "function check() {"
+            + "  var e = find();"
+            + "  switch (cond) {"
+            + "    case 'present': return !!e;"
+            + "    case 'visible': return visible(e);"
+            + "    case 'invisible': return !visible(e);"
+            + "    case 'clickable': return visible(e) && !e.disabled;"
+            + "    case 'enabled': return !!e && !e.disabled;"
+            + "    case 'disabled': return !e || !!e.disabled;"
+            + "    case 'text': return !!e && text(e).indexOf(a) >= 0;"
+            + "    case 'no-text': return !e || text(e).indexOf(a) < 0;"
+            + "    case 'attribute': var v = e ? e.getAttribute(a) : null; return v !== null && v.indexOf(b) >= 0;"
+            + "    case 'no-attribute': var w = e ? e.getAttribute(a) : null; return w === null || w.indexOf(b) < 0;"
+            + "  }"
+            + "  return false;"
+            + "}"
+            + "if (check()) { done(true); return; }"
+            + "var finished = false, observer, frame, timer, lastFrameCheck = 0;"
+            + "function finish(result) {"
+            + "  if (finished) { return; }"
+            + "  finished = true; observer.disconnect(); cancelAnimationFrame(frame); clearTimeout(timer); done(result);"
+            + "}"
+            + "observer = new MutationObserver(function () { if (check()) { finish(true); } });"
+            + "observer.observe(document.documentElement, {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "function onFrame(ts) {"
+            + "  if (ts - lastFrameCheck >= 100) { lastFrameCheck = ts; if (check()) { finish(true); return; } }"
+            + "  frame = requestAnimationFrame(onFrame);"
+            + "}"
+            + "frame = requestAnimationFrame(onFrame);"
+            + "timer = setTimeout(function () { finish(check()); }, timeout);";
+
+    // drivers (by class) on which the async script failed once; they are not asked again
+    private static final Map<Class<?>, Boolean> UNSUPPORTED_DRIVERS = new ConcurrentHashMap<>();
+
+    private BrowserWaiter() {}
+
+    /**
+     * Wait in the page until the condition holds for the element located by locator.
+     *
+     * @param condition one of present, visible, invisible, clickable, enabled, disabled, text, no-text,
+     *                  attribute, no-attribute
+     * @param a         text for text conditions, attribute name for attribute conditions
+     * @param b         attribute value for attribute conditions
+     */
+    public static Result await(WebDriver driver, By locator, String condition, String a, String b, Duration timeout) {
+        String[] selector = toSelector(locator);
+        if (selector == null || UNSUPPORTED_DRIVERS.containsKey(driver.getClass())) {
+            return Result.UNSUPPORTED;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            // chunk by the session's script timeout so the driver never aborts the async script
+            Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+            long chunkMillis = Math.max(100, scriptTimeout.toMillis() - 1000);
+            while (true) {
+                long remaining = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+                long slice = Math.max(0, Math.min(remaining, chunkMillis));
+                Object met = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT,
+                        selector[0], selector[1], condition, a == null ? "" : a, b == null ? "" : b, slice);
+                if (Boolean.TRUE.equals(met)) {
+                    return Result.MET;
+                }
+                if (System.nanoTime() >= deadline) {
+                    return Result.TIMED_OUT;
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            UNSUPPORTED_DRIVERS.put(driver.getClass(), Boolean.TRUE);
+            return Result.UNSUPPORTED;
+        } catch (WebDriverException e) {
+            log.debug("Browser-side wait for {} on {} failed, polling instead: {}", condition, locator,
+                    e.getMessage() == null ? "" : e.getMessage().split("\n")[0]);
+            return Result.UNSUPPORTED;
+        }
+    }
+
+    // [kind, selector] for locators the page can evaluate, null otherwise
+    private static String[] toSelector(By locator) {
+        // only Selenium's own locators; custom By implementations may describe themselves in the same format
+        if (!locator.getClass().getName().startsWith("org.openqa.selenium.By$")) {
+            return null;
+        }
+        String description = locator.toString();
+        int colon = description.indexOf(": ");
+        if (colon < 0) {
+            return null;
+        }
+        String type = description.substring(0, colon);
+        String value = description.substring(colon + 2);
+        switch (type) {
+            case "By.xpath":
+                return new String[]{"xpath", value};
+            case "By.cssSelector":
+                return new String[]{"css", value};
+            case "By.id":
+                return new String[]{"css", "[id=\"" + cssEscape(value) + "\"]"};
+            case "By.name":
+                return new String[]{"css", "[name=\"" + cssEscape(value) + "\"]"};
+            case "By.className":
+                return new String[]{"css", "[class~=\"" + cssEscape(value) + "\"]"};
+            default:
+                return null;
+        }
+    }
+
+    private static String cssEscape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.core.control.util;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Declarative extraction of many fields from a collection of elements in a single executeScript call.
+ * <pre>
+ * BulkExtractor.forItems(cardXpath)
+ *         .text("name", ".//h3")
+ *         .texts("tags", ".//li")
+ *         .count("stars", ".//div[@class='rating']", ".//svg")
+ *         .extract(container, 10, row -&gt; new Item(row.getText("name"), ...));
+ * </pre>
+ * Selectors are XPath evaluated relative to the item (or to the container for the item selector);
+ * a "css=" prefix switches a selector to querySelectorAll. Text is the element's innerText, trimmed.
+ */
+public final class BulkExtractor {
+
+    private static final String SCRIPT =
+            "var container = arguments[0], itemSelector = arguments[1], fields = arguments[2], limit = arguments[3];"
+            + "function all(ctx, sel) {"
+            + "  if (sel.indexOf('css=') === 0) { return Array.prototype.slice.call(ctx.querySelectorAll(sel.substring(4))); }"
+            + "  var snap = document.evaluate(sel, ctx, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), out = [];"
+            + "  for (var i = 0; i < snap.snapshotLength; i++) { out.push(snap.snapshotItem(i)); }"
+            + "  return out;"
+            + "}"
+            + "function text(n) { return ((n.innerText !== undefined ? n.innerText : n.textContent) || '').trim(); }"
+            + "var items = all(container, itemSelector), rows = [];"
+            + "for (var i = 0; i < items.length && (limit <= 0 || i < limit); i++) {"
+            + "  var row = {};"
+            + "  for (var f = 0; f < fields.length; f++) {"
+            + "    var field = fields[f], ctx = items[i];"
+            + "    if (field.scope) { var scopes = all(ctx, field.scope); ctx = scopes.length ? scopes[0] : null; }"
+            + "    if (!ctx) { row[field.name] = null; continue; }"
+            + "    var found = all(ctx, field.selector);"
+            + "    if (field.mode === 'count') { row[field.name] = found.length; }"
+            + "    else if (field.mode === 'texts') { row[field.name] = found.map(text); }"
+            + "    else { row[field.name] = found.length ? text(found[0]) : null; }"
+            + "  }"
+            + "  rows.push(row);"
+            + "}"
+            + "return rows;";
+
+    private final String itemSelector;
+    private final List<Map<String, String>> fields = new ArrayList<>();
+
+    private BulkExtractor(String itemSelector) {
+        this.itemSelector = itemSelector;
+    }
+
+    /**
+     * Extract one row per element matching itemSelector inside the container.
+     */
+    public static BulkExtractor forItems(String itemSelector) {
+        return new BulkExtractor(itemSelector);
+    }
+
+    /**
+     * Text of the first match, or null when nothing matches.
+     */
+    public BulkExtractor text(String name, String selector) {
+        return field(name, selector, "text", null);
+    }
+
+    /**
+     * Texts of all matches, in document order.
+     */
+    public BulkExtractor texts(String name, String selector) {
+        return field(name, selector, "texts", null);
+    }
+
+    /**
+     * Number of matches of selector inside the first match of scope; null when the scope is missing.
+     */
+    public BulkExtractor count(String name, String scope, String selector) {
+        return field(name, selector, "count", scope);
+    }
+
+    public BulkExtractor count(String name, String selector) {
+        return field(name, selector, "count", null);
+    }
+
+    private BulkExtractor field(String name, String selector, String mode, String scope) {
+        Map<String, String> field = new HashMap<>();
+        field.put("name", name);
+        field.put("selector", selector);
+        field.put("mode", mode);
+        if (scope != null) {
+            field.put("scope", scope);
+        }
+        fields.add(field);
+        return this;
+    }
+
+    /**
+     * Raw rows for at most limit items (all items when limit &lt;= 0).
+     */
+    @SuppressWarnings("unchecked")
+    public List<Row> extract(WebElement container, int limit) {
+        WebDriver driver = container instanceof WrapsDriver ? ((WrapsDriver) container).getWrappedDriver() : DriverUtils.getDriver();
+        Object result = ((JavascriptExecutor) driver).executeScript(SCRIPT, container, itemSelector, fields, limit);
+        if (!(result instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<Row> rows = new ArrayList<>();
+        for (Object row : (List<Object>) result) {
+            rows.add(new Row((Map<String, Object>) row));
+        }
+        return rows;
+    }
+
+    public <T> List<T> extract(WebElement container, int limit, Function<Row, T> mapper) {
+        List<T> records = new ArrayList<>();
+        for (Row row : extract(container, limit)) {
+            records.add(mapper.apply(row));
+        }
+        return records;
+    }
+
+    /**
+     * Field values of one item.
+     */
+    public static final class Row {
+        private final Map<String, Object> values;
+
+        Row(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        public String getText(String name) {
+            Object value = values.get(name);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<String> getTexts(String name) {
+            Object value = values.get(name);
+            return value instanceof List ? (List<String>) value : Collections.emptyList();
+        }
+
+        public Integer getCount(String name) {
+            Object value = values.get(name);
+            return value instanceof Number ? ((Number) value).intValue() : null;
+        }
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
+    }
+}
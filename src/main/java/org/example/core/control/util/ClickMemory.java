@@ -0,0 +1,175 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+import org.example.enums.ClickStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers per locator which real {@link ClickStrategy} (Actions or native) last clicked it, so the next click
+ * tries that strategy first instead of running into the same failure and retry again. A JS click is never
+ * remembered: it skips the actionability and interception checks, so a button that is covered only once would
+ * otherwise be JS-clicked for good and a real "covered" regression would go unnoticed. Kept for the run, and
+ * across runs when click.memory.file is set. Off by default (click.memory.enabled).
+ */
+@Slf4j
+public final class ClickMemory {
+
+    private static final Map<String, ClickStrategy> REMEMBERED = new ConcurrentHashMap<>();
+    private static final Map<ClickStrategy, AtomicLong> SUCCESSES = new EnumMap<>(ClickStrategy.class);
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static volatile boolean loaded;
+
+    static {
+        for (ClickStrategy strategy : ClickStrategy.values()) {
+            SUCCESSES.put(strategy, new AtomicLong());
+        }
+    }
+
+    private ClickMemory() {}
+
+    /**
+     * Strategies to try for the locator: the remembered one first, then the rest in default order.
+     */
+    public static List<ClickStrategy> order(String locator) {
+        List<ClickStrategy> order = new ArrayList<>(List.of(ClickStrategy.values()));
+        ClickStrategy remembered = Config.isClickMemoryEnabled() ? remembered().get(locator) : null;
+        if (remembered != null && remembered != order.get(0)) {
+            order.remove(remembered);
+            order.add(0, remembered);
+        }
+        return order;
+    }
+
+    /**
+     * Record the strategy that clicked the locator; firstTry tells whether it was the first one tried.
+     */
+    public static void succeeded(String locator, ClickStrategy strategy, boolean firstTry) {
+        SUCCESSES.get(strategy).incrementAndGet();
+        if (!Config.isClickMemoryEnabled()) {
+            return;
+        }
+        if (strategy == ClickStrategy.JS) {
+            // forget what was remembered so the next click is a real one again
+            if (remembered().remove(locator) != null) {
+                misses.incrementAndGet();
+            }
+            return;
+        }
+        ClickStrategy previous = remembered().put(locator, strategy);
+        if (previous != null) {
+            if (firstTry) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+        }
+        if (previous != strategy && strategy != ClickStrategy.values()[0]) {
+            log.debug("Clicking '{}' with {} first from now on", locator, strategy);
+        }
+    }
+
+    private static Map<String, ClickStrategy> remembered() {
+        if (!loaded) {
+            synchronized (ClickMemory.class) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+        return REMEMBERED;
+    }
+
+    private static void load() {
+        Path file = memoryFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            log.warn("Could not read click memory {}: {}", file, e.getMessage());
+            return;
+        }
+        props.forEach((locator, strategy) -> {
+            try {
+                ClickStrategy value = ClickStrategy.valueOf((String) strategy);
+                // files written before JS clicks stopped being remembered
+                if (value != ClickStrategy.JS) {
+                    REMEMBERED.put((String) locator, value);
+                }
+            } catch (IllegalArgumentException ignored) {
+                // written by another version
+            }
+        });
+        log.debug("Loaded {} remembered click strategies from {}", REMEMBERED.size(), file);
+    }
+
+    /**
+     * Write the remembered strategies to click.memory.file, if set.
+     */
+    public static synchronized void save() {
+        Path file = memoryFile();
+        if (file == null || !loaded) {
+            return;
+        }
+        Properties props = new Properties();
+        REMEMBERED.forEach((locator, strategy) -> props.setProperty(locator, strategy.name()));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // write to a temp file and move it so a parallel JVM never reads a half-written file
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "Click strategy per locator");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write click memory {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Path memoryFile() {
+        String file = Config.getClickMemoryFile();
+        return file == null || file.isEmpty() ? null : Paths.get(file);
+    }
+
+    public static Stats getStats() {
+        return new Stats(REMEMBERED.size(), hits.get(), misses.get(), SUCCESSES.get(ClickStrategy.ACTIONS).get(),
+                SUCCESSES.get(ClickStrategy.NATIVE).get(), SUCCESSES.get(ClickStrategy.JS).get());
+    }
+
+    @Value
+    public static class Stats {
+        int remembered;
+        long hits;
+        long misses;
+        long actionsClicks;
+        long nativeClicks;
+        long jsClicks;
+
+        @Override
+        public String toString() {
+            return String.format("remembered=%d, hits=%d, misses=%d, actions=%d, native=%d, js=%d",
+                    remembered, hits, misses, actionsClicks, nativeClicks, jsClicks);
+        }
+    }
+}
@@ -1,24 +1,23 @@
 package org.example.core.control.util;
 
 import org.example.configure.Config;
+import org.example.core.driver.AbstractDriverManager;
+import org.example.core.driver.BrowserEvent;
+import org.example.core.driver.BrowserEvents;
 import org.example.core.driver.DriverFactory;
+import org.example.enums.BrowserEventType;
 import org.example.enums.BrowserType;
+import org.example.utils.LinkChecker;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.RemoteWebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
-import org.openqa.selenium.support.ui.Wait;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.regex.Matcher;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -27,6 +26,39 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public final class DriverUtils {
 
+    private static final String RESOURCE_MATCH_SCRIPT =
+            "var re = new RegExp(arguments[0], arguments[1]), cursor = arguments[2], wait = arguments[3],"
+            + "    done = arguments[arguments.length - 1];"
+            + "function matches(e) {"
+            + "  return (e.initiatorType === 'xmlhttprequest' || e.initiatorType === 'fetch') && re.test(e.name);"
+            + "}"
+            + "function scan(from) {"
+            + "  var entries = performance.getEntriesByType('resource');"
+            // the resource buffer was cleared since the last call
+            + "  if (from > entries.length) { from = 0; }"
+            + "  for (var i = from; i < entries.length; i++) { if (matches(entries[i])) { return entries[i].name; } }"
+            + "  return null;"
+            + "}"
+            + "var finished = false, timer, observer = null;"
+            + "function finish(match, polled) {"
+            + "  if (finished) { return; }"
+            + "  finished = true; if (observer) { observer.disconnect(); } clearTimeout(timer);"
+            + "  done({match: match, cursor: performance.getEntriesByType('resource').length, polled: polled});"
+            + "}"
+            // observe first: an entry added after the scan below is then always reported by the observer
+            + "if (wait > 0 && typeof PerformanceObserver !== 'undefined') {"
+            + "  observer = new PerformanceObserver(function (list) {"
+            + "    var found = list.getEntries().filter(matches);"
+            + "    if (found.length) { finish(found[0].name, false); }"
+            + "  });"
+            + "  observer.observe({type: 'resource'});"
+            + "}"
+            + "var first = scan(cursor);"
+            + "if (first !== null || observer === null) { finish(first, true); return; }"
+            + "cursor = performance.getEntriesByType('resource').length;"
+            // entries the observer has not been called back for yet are still in the buffer
+            + "timer = setTimeout(function () { finish(scan(cursor), false); }, wait);";
+
     private DriverUtils() {}
 
     public static WebDriver getWebDriver() {
@@ -38,6 +70,13 @@ public final class DriverUtils {
         return getWebDriver();
     }
 
+    /**
+     * Network/page event stream of the current session (CDP on Chrome/Edge, BiDi on Firefox).
+     */
+    public static BrowserEvents getBrowserEvents() {
+        return DriverFactory.getDriverManager(Config.getBrowserType()).events();
+    }
+
     public static void deleteCookie() {
         getDriver().manage().deleteAllCookies();
     }
@@ -57,8 +96,8 @@ public final class DriverUtils {
         return getDriver().getCurrentUrl();
     }
     public static void waitForUrlContains(String expectedUrlPart, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutInSeconds));
-        wait.until(driver -> driver.getCurrentUrl().contains(expectedUrlPart));
+        WaitEngine.until(getDriver(), "url contains", driver -> driver.getCurrentUrl().contains(expectedUrlPart),
+                Duration.ofSeconds(timeoutInSeconds));
     }
 
     public static void openNewTab() {
@@ -67,38 +106,79 @@ public final class DriverUtils {
 
     public static void refresh() {
         getDriver().navigate().refresh();
+        FrameContext.reset(getDriver());
+        ElementCache.invalidate(getDriver());
     }
 
     public static String getWindowHandle() {
-        return getDriver().getWindowHandle();
+        return WindowManager.current(getDriver());
     }
 
+    /**
+     * Open window handles in the order they were first seen.
+     */
     public static List<String> getWindowHandles() {
-        return new ArrayList<>(getDriver().getWindowHandles());
+        return WindowManager.handles(getDriver());
     }
 
     public static int getNumberOfWindows() {
-        return getDriver().getWindowHandles().size();
+        return getWindowHandles().size();
     }
 
     public static void switchTo(String windowHandle) {
-        getDriver().switchTo().window(windowHandle);
+        if (WindowManager.switchTo(getDriver(), windowHandle)) {
+            followWindow(windowHandle);
+        }
     }
 
+    /**
+     * Switch to the newest window not switched to before (or the last opened one) with one handle lookup.
+     */
     public static void switchToNewWindow() {
-        for (String winHandle : getDriver().getWindowHandles()) {
-            getDriver().switchTo().window(winHandle);
-        }
+        followWindow(WindowManager.switchToNewest(getDriver()));
+    }
+
+    /**
+     * Wait for a window that was not switched to before, e.g. a link opened in a new tab, and switch to it.
+     */
+    public static String switchToOpenedWindow() {
+        String handle = WindowManager.awaitNewWindow(getDriver(), Duration.ofSeconds(getTimeOut()));
+        switchTo(handle);
+        return handle;
     }
 
+    /**
+     * Switch to the index-th window in the order windows were first seen.
+     */
     public static void switchToWindow(int index) {
-        ArrayList<String> windows = new ArrayList<>(getDriver().getWindowHandles());
-        getDriver().switchTo().window(windows.get(index));
+        followWindow(WindowManager.switchToIndex(getDriver(), index));
+    }
+
+    /**
+     * Close the current window and the tabs it opened, and switch back to the window that opened it.
+     */
+    public static void closeWindow() {
+        String handle = WindowManager.closeCurrent(getDriver());
+        if (handle != null) {
+            followWindow(handle);
+        }
+    }
+
+    /**
+     * Close every window except the session's first one and switch to it.
+     */
+    public static void closeOtherWindows() {
+        followWindow(WindowManager.closeAllExcept(getDriver(), null));
+    }
+
+    // move an attached CDP event subscription along with the driver
+    private static void followWindow(String windowHandle) {
+        AbstractDriverManager manager = DriverFactory.getDriverManager(Config.getBrowserType());
+        manager.attachedEvents().ifPresent(events -> events.switchedTo(windowHandle));
     }
 
     public static void waitForNewWindowOpened(int expectedNumberOfWindows) {
-        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(getTimeOut()));
-        wait.until(ExpectedConditions.numberOfWindowsToBe(expectedNumberOfWindows));
+        WindowManager.awaitWindowCount(getDriver(), expectedNumberOfWindows, Duration.ofSeconds(getTimeOut()));
     }
 
     public static void moveMouseByOffset(int x, int y) {
@@ -106,73 +186,114 @@ public final class DriverUtils {
         action.moveByOffset(x, y).perform();
     }
 
+    /**
+     * True when the URL answers 200 to HEAD (or to GET when HEAD is rejected), without following redirects.
+     * The status is appended to msg. Every call makes a fresh request, so it can be polled until the URL comes up.
+     */
     public static boolean isUrlStable(String url, StringBuilder msg) {
-        try {
-            if (msg == null) msg = new StringBuilder();
-            HttpURLConnection.setFollowRedirects(false);
-            HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
-            con.setRequestMethod("HEAD");
-            int statusCode = con.getResponseCode();
-            msg.append("Status code: ").append(statusCode);
-            msg.append(" - Error: ").append(con.getResponseMessage());
-            return (statusCode == HttpURLConnection.HTTP_OK);
-        } catch (Exception e) {
-            return false;
+        LinkChecker.Result result = LinkChecker.shared().check(url, false);
+        if (msg != null) {
+            msg.append("Status code: ").append(result.getStatusCode());
+            if (result.getError() != null) {
+                msg.append(" - Error: ").append(result.getError());
+            }
         }
+        return result.getStatusCode() == 200;
     }
 
-    public static void waitForAngularReady() {
-        try {
-            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(getTimeOut()));
-            wait.until(driver -> {
-                JavascriptExecutor executor = (JavascriptExecutor) driver;
-                Object result = executor.executeScript(
-                        "return (window.angular && angular.element(document).injector && angular.element(document).injector()!=null) ? angular.element(document).injector().get('$http').pendingRequests.length === 0 : true;");
-                return Boolean.TRUE.equals(result);
-            });
-        } catch (Exception ignored) {
-        }
+    /**
+     * Absolute http(s) targets of every link on the page, collected and de-duplicated in one script call.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> getPageLinks() {
+        Object links = execJavaScript("var seen = {}, out = [];"
+                + "document.querySelectorAll('a[href], area[href]').forEach(function (a) {"
+                + "  var href = a.href.split('#')[0];"
+                + "  if (/^https?:/i.test(href) && !seen[href]) { seen[href] = true; out.push(href); }"
+                + "});"
+                + "return out;");
+        return links == null ? new ArrayList<>() : new ArrayList<>((List<String>) links);
+    }
+
+    /**
+     * Check every link of the current page concurrently; see {@link LinkChecker}.
+     */
+    public static List<LinkChecker.Result> checkPageLinks() {
+        return LinkChecker.shared().checkAll(getPageLinks());
+    }
+
+    /**
+     * Wait until AngularJS $http has no pending request and the page is quiet; see {@link #waitForNetworkIdle()}.
+     *
+     * @return false on timeout
+     */
+    public static boolean waitForAngularReady() {
+        return waitForNetworkIdle(Config.getNetworkIdleQuiet(), Config.getNetworkIdleMaxInflight(),
+                NetworkIdle.ANGULAR_IDLE, getTimeOut());
     }
 
     public static boolean waitForCondition(Callable<Boolean> conditionEvaluator, Duration interval, Duration timeout) {
-        Wait<WebDriver> wait = new FluentWait<>(getDriver()).withTimeout(timeout).pollingEvery(interval);
         try {
-            return wait.until(driver -> {
+            return WaitEngine.until(getDriver(), "custom condition", driver -> {
                 try {
                     return conditionEvaluator.call();
                 } catch (Exception e) {
                     return false;
                 }
-            });
+            }, timeout, interval);
         } catch (TimeoutException e) {
             return false;
         }
     }
 
-    public static void waitForJavaScriptIdle() {
-        try {
-            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(getTimeOut()));
-            wait.until(driver -> {
-                JavascriptExecutor executor = (JavascriptExecutor) driver;
-                Object domIsComplete = executor.executeScript("return document.readyState == 'complete';");
-                return Boolean.TRUE.equals(domIsComplete);
-            });
-        } catch (Exception ignored) {
-        }
+    /**
+     * Wait until the document is complete, jQuery and AngularJS have nothing pending and its scripts have gone
+     * quiet; see {@link #waitForNetworkIdle()}.
+     *
+     * @return false on timeout
+     */
+    public static boolean waitForJavaScriptIdle() {
+        return waitForNetworkIdle(Config.getNetworkIdleQuiet(), Config.getNetworkIdleMaxInflight(),
+                "(" + NetworkIdle.JQUERY_IDLE + ") && (" + NetworkIdle.ANGULAR_IDLE + ")", getTimeOut());
     }
 
-    public static void waitForAjax() {
-        try {
-            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(getTimeOut()));
-            wait.until(driver -> {
-                JavascriptExecutor executor = (JavascriptExecutor) driver;
-                Object ajaxIsComplete = executor.executeScript(
-                        "if (typeof jQuery != 'undefined') { return jQuery.active == 0; } else {  return true; }");
-                Object domIsComplete = executor.executeScript("return document.readyState == 'complete';");
-                return Boolean.TRUE.equals(ajaxIsComplete) && Boolean.TRUE.equals(domIsComplete);
-            });
-        } catch (Exception ignored) {
-        }
+    /**
+     * Wait until jQuery.active is 0 and the page is quiet; see {@link #waitForNetworkIdle()}.
+     *
+     * @return false on timeout
+     */
+    public static boolean waitForAjax() {
+        return waitForNetworkIdle(Config.getNetworkIdleQuiet(), Config.getNetworkIdleMaxInflight(),
+                NetworkIdle.JQUERY_IDLE, getTimeOut());
+    }
+
+    /**
+     * Wait until the page is quiet per network.idle.quiet and network.idle.max.inflight, at most the default timeout.
+     */
+    public static boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(Config.getNetworkIdleQuiet(), Config.getNetworkIdleMaxInflight());
+    }
+
+    public static boolean waitForNetworkIdle(long quietMillis, int maxInflight) {
+        return waitForNetworkIdle(quietMillis, maxInflight, getTimeOut());
+    }
+
+    /**
+     * Wait until the document is complete, at most maxInflight fetch/XHR requests are open, no short timer or
+     * animation frame is pending and nothing happened for quietMillis. Returns false on timeout.
+     */
+    public static boolean waitForNetworkIdle(long quietMillis, int maxInflight, int timeoutInSeconds) {
+        return waitForNetworkIdle(quietMillis, maxInflight, "true", timeoutInSeconds);
+    }
+
+    /**
+     * Same as {@link #waitForNetworkIdle(long, int, int)}, and the JavaScript expression appReady must be true
+     * too; it covers requests the in-page tracker cannot see because they started before it was injected.
+     */
+    public static boolean waitForNetworkIdle(long quietMillis, int maxInflight, String appReady, int timeoutInSeconds) {
+        AbstractDriverManager manager = DriverFactory.getDriverManager(Config.getBrowserType());
+        return NetworkIdle.await(getDriver(), manager.attachedEvents().orElse(null), quietMillis, maxInflight,
+                appReady, Duration.ofSeconds(timeoutInSeconds));
     }
 
     public static void setWindowSize(int width, int height) {
@@ -183,29 +304,94 @@ public final class DriverUtils {
         waitForEventTriggered(eventRegex, getTimeOut());
     }
 
+    /**
+     * Wait until an XHR/fetch whose URL matches eventRegex has been made. With a CDP/BiDi event stream the
+     * finished request is pushed to us. Otherwise the regex is matched inside the page: resource entries are
+     * scanned from a cursor so each entry is looked at once, new ones are pushed by a PerformanceObserver, and
+     * only the matching URL is sent back.
+     */
     public static void waitForEventTriggered(String eventRegex, int inputTimeOut) {
-        List<Map<String, Object>> xmlHttpRequestList = getXmlHttpRequestList();
-        double interval = 0.5;
-        double timeOut = inputTimeOut;
         Pattern pattern = Pattern.compile(eventRegex);
-        while (timeOut > 0) {
-            for (Map<String, Object> xmlHttpRequest : xmlHttpRequestList) {
+        BrowserEvents events = getBrowserEvents();
+        if (events.isPushBased()) {
+            Map<?, ?> made = findResourceEntry(pattern, 0, 0);
+            if (made == null || made.get("match") == null) {
+                events.awaitEvent(e -> isMatchingRequest(e, pattern), inputTimeOut * 1000L);
+            }
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(inputTimeOut);
+        long cursor = 0;
+        long chunkMillis = Math.max(100, getDriver().manage().timeouts().getScriptTimeout().toMillis() - 1000);
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            Map<?, ?> result = findResourceEntry(pattern, cursor, Math.max(0, Math.min(remaining, chunkMillis)));
+            if (result == null) {
+                // the page cannot run the regex; match the XHR entries here
+                waitForEventTriggeredByPolling(pattern, deadline);
+                return;
+            }
+            if (result.get("match") != null) {
+                log.debug("Request matching '{}' was made: {}", eventRegex, result.get("match"));
+                return;
+            }
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+            cursor = result.get("cursor") instanceof Number ? ((Number) result.get("cursor")).longValue() : 0;
+            if (Boolean.TRUE.equals(result.get("polled"))) {
+                // no PerformanceObserver: look at the entries added since the cursor again in 0.5 s
+                delay(Math.min(0.5, Math.max(0, deadline - System.nanoTime()) / 1e9));
+            }
+        }
+    }
+
+    // match XHR/fetch resource entries after cursor in the page, waiting up to waitMillis for a new one;
+    // {match, cursor, polled} or null when the script or regex cannot run in the page
+    private static Map<?, ?> findResourceEntry(Pattern pattern, long cursor, long waitMillis) {
+        String source = pattern.pattern();
+        String flags = (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0 ? "i" : "";
+        if (source.startsWith("(?i)")) {
+            source = source.substring(4);
+            flags = "i";
+        }
+        try {
+            Object result = ((JavascriptExecutor) getDriver()).executeAsyncScript(RESOURCE_MATCH_SCRIPT,
+                    source, flags, cursor, waitMillis);
+            return result instanceof Map ? (Map<?, ?>) result : null;
+        } catch (UnsupportedOperationException | WebDriverException e) {
+            log.debug("In-page request matching unavailable: {}", e.getMessage() == null ? "" : e.getMessage().split("\n")[0]);
+            return null;
+        }
+    }
+
+    private static void waitForEventTriggeredByPolling(Pattern pattern, long deadline) {
+        while (true) {
+            for (Map<String, Object> xmlHttpRequest : getXmlHttpRequestList()) {
                 Object name = xmlHttpRequest.get("name");
-                if (name instanceof String) {
-                    Matcher matcher = pattern.matcher((String) name);
-                    if (matcher.find()) {
-                        return;
-                    }
+                if (name instanceof String && pattern.matcher((String) name).find()) {
+                    return;
                 }
             }
-            delay(interval);
-            timeOut -= interval;
-            xmlHttpRequestList = getXmlHttpRequestList();
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+            delay(0.5);
         }
     }
 
+    // BiDi does not report the resource type, so any finished request counts there
+    private static boolean isMatchingRequest(BrowserEvent event, Pattern pattern) {
+        return event.getType() == BrowserEventType.REQUEST_FINISHED
+                && event.getUrl() != null
+                && (event.getResourceType() == null || event.isXhr())
+                && pattern.matcher(event.getUrl()).find();
+    }
+
     public static List<Map<String, Object>> getXmlHttpRequestList() {
-        List<Map<String, Object>> requestList = (List<Map<String, Object>>) DriverUtils.execJavaScript("return window.performance.getEntries()");
+        // filter in the page so only XHR entries are serialized
+        List<Map<String, Object>> requestList = (List<Map<String, Object>>) DriverUtils.execJavaScript(
+                "return window.performance.getEntriesByType('resource').filter(function (e) { return e.initiatorType === 'xmlhttprequest'; });");
         return requestList == null ? new ArrayList<>() : requestList.stream()
                 .filter(m -> m.containsKey("initiatorType"))
                 .filter(x -> "xmlhttprequest".equals(String.valueOf(x.get("initiatorType"))))
@@ -226,11 +412,35 @@ public final class DriverUtils {
         return seconds;
     }
 
+    /**
+     * Wait until the window stops scrolling, at most 1 second (the fixed sleep this used to be).
+     */
     public static void waitForAutoScrollingStopped() {
-        delay(1);
+        Settling.awaitStable(getDriver(), null, Duration.ofSeconds(1));
     }
 
+    /**
+     * Wait until the window stops scrolling and the element stops moving or resizing, at most 1 second.
+     */
+    public static void waitForAutoScrollingStopped(WebElement element) {
+        Settling.awaitStable(getDriver(), element, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Open url and return once the DOM is parsed (the load event is not awaited under the eager/none strategy).
+     */
     public static void navigateTo(String url) {
-        getDriver().get(url);
+        int query = url.indexOf('?');
+        navigateTo(url, query < 0 ? url : url.substring(0, query), ReadinessContract.domReady());
+    }
+
+    /**
+     * Open url and return as soon as contract is met, at most page.load.timeout; the time to ready is recorded
+     * under page.
+     *
+     * @return milliseconds from the start of navigation to ready
+     */
+    public static long navigateTo(String url, String page, ReadinessContract contract) {
+        return PageLoader.navigate(getDriver(), url, page, contract, Duration.ofMillis(Config.getPageLoadTimeout()));
     }
 }
@@ -0,0 +1,73 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bookkeeping for the opt-in WebElement handle cache of {@link org.example.core.control.base.imp.BaseControl}.
+ * Each session has a generation counter; a cached handle is only reused while the generation it was found in
+ * is current. Navigation, window and frame switches, and clicks that may navigate bump the generation, which
+ * drops every cached handle of that session at once. A handle that still turns out stale is dropped by the
+ * control when the {@link org.openqa.selenium.StaleElementReferenceException} surfaces.
+ */
+public final class ElementCache {
+
+    // keyed by driver identity; entries go away with the session
+    private static final Map<WebDriver, AtomicLong> GENERATIONS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong invalidations = new AtomicLong();
+    private static final AtomicLong savedFinds = new AtomicLong();
+
+    private ElementCache() {}
+
+    public static long generation(WebDriver driver) {
+        return GENERATIONS.computeIfAbsent(driver, d -> new AtomicLong()).get();
+    }
+
+    /**
+     * Drop every cached handle of the session, e.g. after navigation or a window/frame switch.
+     */
+    public static void invalidate(WebDriver driver) {
+        AtomicLong generation = GENERATIONS.get(driver);
+        if (generation != null) {
+            generation.incrementAndGet();
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record a cache hit that spared the given number of findElement round trips (the control and its parents).
+     */
+    public static void recordHit(int finds) {
+        hits.incrementAndGet();
+        savedFinds.addAndGet(finds);
+    }
+
+    public static void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public static Stats getStats() {
+        return new Stats(hits.get(), misses.get(), invalidations.get(), savedFinds.get());
+    }
+
+    @Value
+    public static class Stats {
+        long hits;
+        long misses;
+        long invalidations;
+        long savedFinds;
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, invalidations=%d, savedFinds=%d",
+                    hits, misses, invalidations, savedFinds);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks which frame each session is in, so controls only call switchTo when their frame differs from the
+ * current one. The frame path has two parts: the frames selected explicitly with Frame.switchTo, which every
+ * control is resolved against, and below them the frames entered for a {@link LocatorChain}. Leaving a chain's
+ * frames goes up with parentFrame() only as far as the common ancestor instead of back to the top document.
+ * <p>
+ * The path is only correct when frames are switched through this class (Frame, LocatorChain) and reset whenever
+ * the session goes back to the top document: navigation (DriverUtils, PageLoader, and the FRAME_NAVIGATED event
+ * for navigations the page starts itself), window switches and session recycling. Frame.switchTo does not trust
+ * it alone and checks with the browser before skipping a switch.
+ */
+public final class FrameContext {
+
+    // keyed by driver identity; entries go away with the session
+    private static final Map<WebDriver, State> STATES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong switches = new AtomicLong();
+    private static final AtomicLong savedSwitches = new AtomicLong();
+
+    private FrameContext() {}
+
+    /**
+     * Make frames, relative to the explicitly selected frame, the current browsing context. An empty list
+     * selects the explicit frame itself.
+     */
+    public static void select(WebDriver driver, List<By> frames) {
+        State state = frames.isEmpty() ? STATES.get(driver) : STATES.computeIfAbsent(driver, d -> new State());
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            List<String> target = new ArrayList<>(state.keys.subList(0, state.explicitDepth));
+            for (By frame : frames) {
+                target.add(frame.toString());
+            }
+            int common = state.explicitDepth;
+            while (common < state.keys.size() && common < target.size()
+                    && state.keys.get(common).equals(target.get(common))) {
+                common++;
+            }
+            if (common == state.keys.size() && common == target.size()) {
+                savedSwitches.addAndGet(target.size() - state.explicitDepth);
+                return;
+            }
+            // keys follow every successful switch, so the path stays right if a frame is not found yet
+            try {
+                while (state.keys.size() > common) {
+                    driver.switchTo().parentFrame();
+                    switches.incrementAndGet();
+                    state.keys.remove(state.keys.size() - 1);
+                }
+                for (int i = common; i < target.size(); i++) {
+                    By frame = frames.get(i - state.explicitDepth);
+                    driver.switchTo().frame(driver.findElement(frame));
+                    switches.incrementAndGet();
+                    state.keys.add(target.get(i));
+                }
+            } finally {
+                ElementCache.invalidate(driver);
+            }
+        }
+    }
+
+    /**
+     * True when the frame with this key was the last one selected with Frame.switchTo and is still current.
+     */
+    public static boolean isSelected(WebDriver driver, String key) {
+        State state = STATES.get(driver);
+        if (state == null) {
+            return false;
+        }
+        synchronized (state) {
+            boolean selected = state.explicitDepth > 0 && state.explicitDepth == state.keys.size()
+                    && state.keys.get(state.explicitDepth - 1).equals(key);
+            if (selected) {
+                savedSwitches.incrementAndGet();
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * Record a Frame.switchTo into a child of the current frame.
+     */
+    public static void switchedToFrame(WebDriver driver, String key) {
+        State state = STATES.computeIfAbsent(driver, d -> new State());
+        synchronized (state) {
+            state.keys.add(key);
+            state.explicitDepth = state.keys.size();
+        }
+        switches.incrementAndGet();
+    }
+
+    /**
+     * True when no frame is selected, neither explicitly nor for a locator chain.
+     */
+    public static boolean isTopDocument(WebDriver driver) {
+        State state = STATES.get(driver);
+        if (state == null) {
+            return true;
+        }
+        synchronized (state) {
+            return state.keys.isEmpty();
+        }
+    }
+
+    /**
+     * Record that the session is on the top document again: defaultContent(), navigation or a window switch.
+     */
+    public static void reset(WebDriver driver) {
+        STATES.remove(driver);
+    }
+
+    public static Stats getStats() {
+        return new Stats(switches.get(), savedSwitches.get());
+    }
+
+    private static final class State {
+        private final List<String> keys = new ArrayList<>();
+        private int explicitDepth;
+    }
+
+    @Value
+    public static class Stats {
+        long switches;
+        long savedSwitches;
+
+        @Override
+        public String toString() {
+            return String.format("switches=%d, savedSwitches=%d", switches, savedSwitches);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import org.example.configure.Config;
+import org.openqa.selenium.By;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide cache from a string locator ("css=...", "xpath=...", "id=...", a bare xpath, or a
+ * {@link LocatorChain} across frames and shadow roots) to its {@link By}.
+ * Locators are parsed once with precompiled patterns; {@link By} instances are immutable and shared between
+ * controls and threads. The cache is bounded by locator.cache.size: when full, an arbitrary tenth of the entries
+ * is dropped, which is enough for the mostly static set of locators a suite uses.
+ */
+public final class LocatorCache {
+
+    // "type=body": the type is letters/digits/spaces before the first '=', the body everything after it
+    private static final Pattern TYPED_LOCATOR = Pattern.compile("([\\w\\s]*)=(.*)", Pattern.DOTALL);
+    private static final Pattern FORMAT_SPECIFIER = Pattern.compile("%[sd|]", Pattern.CASE_INSENSITIVE);
+
+    private static final Map<String, By> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    private LocatorCache() {}
+
+    public static By get(String locator) {
+        By by = CACHE.get(locator);
+        if (by != null) {
+            hits.incrementAndGet();
+            return by;
+        }
+        misses.incrementAndGet();
+        by = parse(locator);
+        int maxSize = Config.getLocatorCacheSize();
+        if (maxSize > 0) {
+            if (CACHE.size() >= maxSize) {
+                evict(Math.max(1, maxSize / 10));
+            }
+            CACHE.putIfAbsent(locator, by);
+        }
+        return by;
+    }
+
+    /**
+     * Format a dynamic locator template and return the cached {@link By} of the result.
+     */
+    public static By get(String template, Object... args) {
+        return get(String.format(template, args));
+    }
+
+    /**
+     * True when the locator still contains a %s / %d placeholder.
+     */
+    public static boolean isDynamic(String locator) {
+        return locator != null && FORMAT_SPECIFIER.matcher(locator).find();
+    }
+
+    static By parse(String locator) {
+        if (LocatorChain.isChain(locator)) {
+            return LocatorChain.parse(locator);
+        }
+        Matcher matcher = TYPED_LOCATOR.matcher(locator);
+        if (!matcher.lookingAt()) {
+            return By.xpath(locator);
+        }
+        String type = matcher.group(1).trim();
+        String body = matcher.group(2).trim();
+        switch (type.toLowerCase()) {
+            case "css":
+                return By.cssSelector(body);
+            case "id":
+                return By.id(body);
+            case "class":
+                return By.className(body);
+            case "link":
+                return By.linkText(body);
+            case "xpath":
+                return By.xpath(body);
+            case "text":
+                return By.xpath(String.format("//*[contains(text(), '%s')]", body));
+            case "name":
+                return By.name(body);
+            default:
+                return By.xpath(locator);
+        }
+    }
+
+    private static void evict(int count) {
+        Iterator<String> keys = CACHE.keySet().iterator();
+        for (int i = 0; i < count && keys.hasNext(); i++) {
+            keys.next();
+            keys.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    public static Stats getStats() {
+        return new Stats(CACHE.size(), hits.get(), misses.get(), evictions.get());
+    }
+
+    @Value
+    public static class Stats {
+        int size;
+        long hits;
+        long misses;
+        long evictions;
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%",
+                    size, hits, misses, evictions, getHitRate() * 100);
+        }
+    }
+}
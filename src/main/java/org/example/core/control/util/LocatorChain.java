@@ -0,0 +1,122 @@
+package org.example.core.control.util;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Locator that crosses frames and shadow roots, written as segments joined by "&gt;&gt;":
+ * <pre>
+ * frame=//iframe[@id='payment']&gt;&gt;shadow=css=card-form&gt;&gt;css=input[name='number']
+ * </pre>
+ * <ul>
+ *     <li>frame=&lt;locator&gt;: switch into the frame; frame segments come first, relative to the frame selected
+ *     with Frame.switchTo (the top document by default). Switching goes through {@link FrameContext}, so a chain
+ *     whose frames are already selected costs no switchTo call.</li>
+ *     <li>shadow=&lt;locator&gt;: continue inside the shadow root of the host element (css only in most
+ *     browsers).</li>
+ *     <li>any other locator: continue inside the element; the last segment is the one that is returned.</li>
+ * </ul>
+ * Segment bodies use the usual LocatorCache syntax (css=, id=, xpath=, bare xpath...).
+ */
+public final class LocatorChain extends By {
+
+    public static final String SEPARATOR = ">>";
+    private static final String FRAME = "frame=";
+    private static final String SHADOW = "shadow=";
+
+    private final List<By> frames;
+    private final List<By> path;
+    private final List<Boolean> shadowHosts;
+    private final String description;
+
+    private LocatorChain(List<By> frames, List<By> path, List<Boolean> shadowHosts, String description) {
+        this.frames = Collections.unmodifiableList(frames);
+        this.path = path;
+        this.shadowHosts = shadowHosts;
+        this.description = description;
+    }
+
+    public static boolean isChain(String locator) {
+        return locator != null && locator.contains(SEPARATOR);
+    }
+
+    static LocatorChain parse(String locator) {
+        List<By> frames = new ArrayList<>();
+        List<By> path = new ArrayList<>();
+        List<Boolean> shadowHosts = new ArrayList<>();
+        String[] segments = locator.split(SEPARATOR);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i].trim();
+            boolean last = i == segments.length - 1;
+            if (segment.isEmpty()) {
+                throw new InvalidSelectorException("Empty segment in locator chain: " + locator);
+            }
+            if (segment.startsWith(FRAME)) {
+                if (!path.isEmpty() || last) {
+                    throw new InvalidSelectorException("frame= segments must lead the chain and be followed by a locator: " + locator);
+                }
+                frames.add(LocatorCache.parse(segment.substring(FRAME.length()).trim()));
+            } else if (segment.startsWith(SHADOW)) {
+                if (last) {
+                    throw new InvalidSelectorException("A locator chain cannot end with a shadow= segment: " + locator);
+                }
+                path.add(LocatorCache.parse(segment.substring(SHADOW.length()).trim()));
+                shadowHosts.add(Boolean.TRUE);
+            } else {
+                path.add(LocatorCache.parse(segment));
+                shadowHosts.add(Boolean.FALSE);
+            }
+        }
+        return new LocatorChain(frames, path, shadowHosts, locator);
+    }
+
+    /**
+     * Frames to select, outermost first, before the rest of the chain is resolved.
+     */
+    public List<By> getFrames() {
+        return frames;
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        SearchContext current = context;
+        if (!frames.isEmpty()) {
+            if (!(context instanceof WebDriver)) {
+                throw new InvalidSelectorException("frame= segments are only supported on top-level controls: " + description);
+            }
+            FrameContext.select((WebDriver) context, frames);
+        }
+        int last = path.size() - 1;
+        try {
+            for (int i = 0; i < last; i++) {
+                WebElement element = current.findElement(path.get(i));
+                current = shadowHosts.get(i) ? element.getShadowRoot() : element;
+            }
+        } catch (NoSuchElementException e) {
+            return List.of();
+        }
+        return current.findElements(path.get(last));
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        List<WebElement> elements = findElements(context);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return elements.get(0);
+    }
+
+    @Override
+    public String toString() {
+        return "By.chain: " + description;
+    }
+}
@@ -0,0 +1,276 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.core.driver.BrowserEvents;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects when a page has gone quiet, for fetch/XHR-heavy pages where document.readyState or jQuery.active
+ * say nothing. A tracker injected into the page counts
+ * <ul>
+ *     <li>fetch and XMLHttpRequest calls in flight,</li>
+ *     <li>pending short one-shot timers (delay up to 100 ms, the "next tick" work that follows a response),</li>
+ *     <li>pending animation frames (skipped while the tab is hidden),</li>
+ * </ul>
+ * and the time of the last request start/end or tracked callback; on injection into a loaded page that time is
+ * taken from resource timing (the last responseEnd), so a page that is already quiet is not made to wait
+ * quietMillis again. Requests still open at injection are invisible to it; callers pass an app-level check
+ * such as {@link #JQUERY_IDLE} to cover the ones their framework made. Timers and frames scheduled from inside a
+ * tracked callback are not counted, so polling loops and animation loops do not keep the page busy forever.
+ * The page is idle once the document is complete, at most maxInflight requests are open, no tracked timer or
+ * frame is pending, and nothing happened for quietMillis. The check runs inside the page with
+ * executeAsyncScript, so a wait costs one round trip; with a CDP/BiDi event stream attached, its request count
+ * (which also sees requests made before the tracker was injected) must agree.
+ */
+@Slf4j
+public final class NetworkIdle {
+
+    private static final String TRACKER =
+            "var w = window;"
+            + "if (!w.__idleTracker) {"
+            // activity before injection: when the last resource finished loading, or when the page finished loading
+            + "  var last = 0, nav = performance.getEntriesByType ? performance.getEntriesByType('navigation')[0] : null;"
+            + "  if (nav) { last = Math.max(nav.domContentLoadedEventEnd, nav.loadEventEnd); }"
+            + "  if (performance.getEntriesByType) {"
+            + "    performance.getEntriesByType('resource').forEach(function (e) { last = Math.max(last, e.responseEnd); });"
+            + "  }"
+            + "  if (!last || document.readyState !== 'complete') { last = performance.now(); }"
+            + "  var t = w.__idleTracker = {net: 0, timers: 0, frames: 0, last: last, ids: {}, depth: 0,"
+            + "      setTimeout: w.setTimeout, clearTimeout: w.clearTimeout};"
+            + "  var start = function () { t.net++; t.last = performance.now(); };"
+            + "  var end = function () { t.net = Math.max(0, t.net - 1); t.last = performance.now(); };"
+            + "  var tracked = function (fn) {"
+            + "    return function () {"
+            + "      t.depth++; t.last = performance.now();"
+            + "      try { return fn.apply(this, arguments); } finally { t.depth--; }"
+            + "    };"
+            + "  };"
+            + "  if (w.fetch) {"
+            + "    var fetch = w.fetch;"
+            + "    w.fetch = function () {"
+            + "      start();"
+            + "      try {"
+            + "        return fetch.apply(this, arguments).then(function (r) { end(); return r; }, function (e) { end(); throw e; });"
+            + "      } catch (e) { end(); throw e; }"
+            + "    };"
+            + "  }"
+            + "  if (w.XMLHttpRequest) {"
+            + "    var send = XMLHttpRequest.prototype.send;"
+            + "    XMLHttpRequest.prototype.send = function () {"
+            + "      var finished = false, finish = function () { if (!finished) { finished = true; end(); } };"
+            + "      start();"
+            + "      this.addEventListener('loadend', finish);"
+            + "      try { return send.apply(this, arguments); } catch (e) { finish(); throw e; }"
+            + "    };"
+            + "  }"
+            + "  w.setTimeout = function (fn, delay) {"
+            + "    var args = Array.prototype.slice.call(arguments);"
+            + "    if (typeof fn !== 'function' || delay > 100 || t.depth > 0) { return t.setTimeout.apply(w, args); }"
+            + "    var id;"
+            + "    args[0] = tracked(function () { if (t.ids[id]) { delete t.ids[id]; t.timers--; } return fn.apply(this, arguments); });"
+            + "    id = t.setTimeout.apply(w, args);"
+            + "    t.ids[id] = true; t.timers++;"
+            + "    return id;"
+            + "  };"
+            + "  w.clearTimeout = function (id) {"
+            + "    if (t.ids[id]) { delete t.ids[id]; t.timers--; }"
+            + "    return t.clearTimeout.apply(w, arguments);"
+            + "  };"
+            + "  if (w.requestAnimationFrame) {"
+            + "    var raf = w.requestAnimationFrame, caf = w.cancelAnimationFrame, frameIds = {};"
+            + "    w.requestAnimationFrame = function (fn) {"
+            + "      if (typeof fn !== 'function' || t.depth > 0) { return raf.call(w, fn); }"
+            + "      var id = raf.call(w, tracked(function (ts) { if (frameIds[id]) { delete frameIds[id]; t.frames--; } return fn(ts); }));"
+            + "      frameIds[id] = true; t.frames++;"
+            + "      return id;"
+            + "    };"
+            + "    w.cancelAnimationFrame = function (id) {"
+            + "      if (frameIds[id]) { delete frameIds[id]; t.frames--; }"
+            + "      return caf.call(w, id);"
+            + "    };"
+            + "  }"
+            + "}";
+
+    /** App-level check for jQuery: no $.ajax call pending. */
+    public static final String JQUERY_IDLE = "typeof jQuery === 'undefined' || jQuery.active === 0";
+    /** App-level check for AngularJS: no $http request pending. */
+    public static final String ANGULAR_IDLE = "!(window.angular && angular.element(document).injector"
+            + " && angular.element(document).injector()) || angular.element(document).injector().get('$http').pendingRequests.length === 0";
+
+    private static final String NO_APP_CHECK = "true";
+
+    // APP_READY is replaced by the caller's app-level check
+    private static final String STATE =
+            "var t = window.__idleTracker;"
+            + "return {complete: document.readyState === 'complete', net: t.net, timers: t.timers,"
+            + "    frames: document.hidden ? 0 : t.frames, quietFor: performance.now() - t.last,"
+            + "    app: (function () { try { return !!(APP_READY); } catch (e) { return true; } })()};";
+
+    private static final String AWAIT_SCRIPT =
+            "var quiet = arguments[0], maxInflight = arguments[1], timeout = arguments[2], done = arguments[arguments.length - 1];"
+            + TRACKER
+            + "var t = window.__idleTracker, began = performance.now();"
+            + "function state() {" + STATE + "}"
+            + "function check() {"
+            + "  var s = state();"
+            + "  s.idle = s.complete && s.app && s.net <= maxInflight && s.timers === 0 && s.frames === 0 && s.quietFor >= quiet;"
+            + "  if (s.idle || performance.now() - began >= timeout) { done(s); return; }"
+            + "  t.setTimeout.call(window, check, s.quietFor < quiet ? Math.min(quiet - s.quietFor, 100) : 50);"
+            + "}"
+            + "check();";
+
+    private static final String POLL_SCRIPT = TRACKER + STATE;
+
+    private static final AtomicLong waits = new AtomicLong();
+    private static final AtomicLong timeouts = new AtomicLong();
+    private static final AtomicLong totalMillis = new AtomicLong();
+
+    private NetworkIdle() {}
+
+    /**
+     * Wait until the page has been quiet for quietMillis with at most maxInflight requests open.
+     *
+     * @param events the session's event stream, or null
+     * @return true when the page went idle, false on timeout
+     */
+    public static boolean await(WebDriver driver, BrowserEvents events, long quietMillis, int maxInflight, Duration timeout) {
+        return await(driver, events, quietMillis, maxInflight, NO_APP_CHECK, timeout);
+    }
+
+    /**
+     * Same as {@link #await(WebDriver, BrowserEvents, long, int, Duration)}, and appReady (a JavaScript expression
+     * such as {@link #JQUERY_IDLE}) must be true as well. It sees requests the tracker cannot: the ones started
+     * before it was injected.
+     */
+    public static boolean await(WebDriver driver, BrowserEvents events, long quietMillis, int maxInflight,
+                                String appReady, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        boolean idle = false;
+        try {
+            idle = awaitInPage(driver, events, quietMillis, maxInflight, appReady, deadline);
+        } catch (UnsupportedOperationException e) {
+            idle = poll(driver, events, quietMillis, maxInflight, appReady, deadline);
+        }
+        record(start, idle);
+        if (!idle) {
+            log.debug("Page not idle (quiet {} ms, max {} in flight) after {} ms", quietMillis, maxInflight,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return idle;
+    }
+
+    private static boolean awaitInPage(WebDriver driver, BrowserEvents events, long quietMillis, int maxInflight,
+                                       String appReady, long deadline) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String script = AWAIT_SCRIPT.replace("APP_READY", appReady);
+        long chunkMillis = -1;
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                if (chunkMillis < 0) {
+                    // chunk by the session's script timeout so the driver never aborts the async script
+                    chunkMillis = Math.max(100, driver.manage().timeouts().getScriptTimeout().toMillis() - 1000);
+                }
+                Object state = js.executeAsyncScript(script, quietMillis, maxInflight, Math.min(remaining, chunkMillis));
+                if (isIdle(state) && eventsQuiet(events, quietMillis, maxInflight)) {
+                    return true;
+                }
+            } catch (JavascriptException | ScriptTimeoutException e) {
+                // the page navigated while the script ran; the next page gets a new tracker. Anything else (a lost
+                // session, an unreachable browser) is not going to recover before the deadline and is rethrown
+                log.debug("Idle check interrupted: {}", e.getMessage() == null ? "" : e.getMessage().split("\n")[0]);
+            }
+            sleep(Math.min(50, Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+        }
+    }
+
+    private static boolean poll(WebDriver driver, BrowserEvents events, long quietMillis, int maxInflight,
+                                String appReady, long deadline) {
+        Duration left = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+        String script = POLL_SCRIPT.replace("APP_READY", appReady);
+        return WaitEngine.poll(driver, "network idle", d -> {
+            Object state;
+            try {
+                state = ((JavascriptExecutor) d).executeScript(script);
+            } catch (JavascriptException e) {
+                // the page navigated while the script ran
+                return false;
+            }
+            if (!(state instanceof Map)) {
+                return false;
+            }
+            Map<?, ?> s = (Map<?, ?>) state;
+            boolean idle = Boolean.TRUE.equals(s.get("complete"))
+                    && Boolean.TRUE.equals(s.get("app"))
+                    && number(s.get("net")) <= maxInflight
+                    && number(s.get("timers")) == 0
+                    && number(s.get("frames")) == 0
+                    && number(s.get("quietFor")) >= quietMillis;
+            return idle && eventsQuiet(events, quietMillis, maxInflight);
+        }, left) != null;
+    }
+
+    private static boolean isIdle(Object state) {
+        return state instanceof Map && Boolean.TRUE.equals(((Map<?, ?>) state).get("idle"));
+    }
+
+    private static boolean eventsQuiet(BrowserEvents events, long quietMillis, int maxInflight) {
+        if (events == null || !events.isPushBased()) {
+            return true;
+        }
+        long quietFor = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - events.getLastNetworkActivityNanos());
+        return events.getInflightRequestCount() <= maxInflight && quietFor >= quietMillis;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.MAX_VALUE;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+    }
+
+    private static void record(long startNanos, boolean idle) {
+        waits.incrementAndGet();
+        totalMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        if (!idle) {
+            timeouts.incrementAndGet();
+        }
+    }
+
+    public static Stats getStats() {
+        long n = waits.get();
+        return new Stats(n, timeouts.get(), n == 0 ? 0 : totalMillis.get() / n);
+    }
+
+    @Value
+    public static class Stats {
+        long waits;
+        long timeouts;
+        long avgMillis;
+
+        @Override
+        public String toString() {
+            return String.format("waits=%d, timeouts=%d, avg=%dms", waits, timeouts, avgMillis);
+        }
+    }
+}
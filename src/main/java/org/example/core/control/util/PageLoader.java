@@ -0,0 +1,144 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.CapabilityType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Navigation that returns as soon as the page's {@link ReadinessContract} is met rather than when every ad and
+ * tracker has loaded. Meant for sessions started with the eager or none page-load strategy (page.load.strategy):
+ * <ul>
+ *     <li>eager: get() returns once the new document is parsed, then the contract is awaited.</li>
+ *     <li>none: get() returns at once; the old document is marked before navigating and the contract is only
+ *     checked once the mark is gone, so it cannot be met by the page being left.</li>
+ *     <li>normal: get() still waits for the load event, bounded by page.load.timeout; when that runs out the
+ *     load is stopped and the contract decides.</li>
+ * </ul>
+ * Time from get() to ready is recorded per page and logged after the suite.
+ */
+@Slf4j
+public final class PageLoader {
+
+    private static final String MARK_SCRIPT = "window.__pageLoaderLeaving = true;";
+    private static final String NEW_DOCUMENT_SCRIPT = "return !window.__pageLoaderLeaving;";
+
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+
+    private PageLoader() {}
+
+    /**
+     * Open url and wait until contract is met.
+     *
+     * @param page name the time-to-ready is recorded under
+     * @return milliseconds from the start of navigation to ready
+     * @throws TimeoutException when the contract is not met within timeout
+     */
+    public static long navigate(WebDriver driver, String url, String page, ReadinessContract contract, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        boolean noWait = "none".equals(pageLoadStrategy(driver));
+        if (noWait) {
+            mark(driver);
+        }
+        try {
+            driver.get(url);
+        } catch (TimeoutException e) {
+            // load event never came (slow third-party content); the contract decides whether the page is usable
+            log.debug("Page load of {} timed out, stopping it: {}", url, e.getMessage() == null ? "" : e.getMessage().split("\n")[0]);
+            ((JavascriptExecutor) driver).executeScript("window.stop();");
+        } finally {
+            FrameContext.reset(driver);
+            ElementCache.invalidate(driver);
+        }
+        ReadinessContract ready = noWait
+                ? ReadinessContract.condition("new document", PageLoader::isNewDocument).and(contract)
+                : contract;
+        boolean met = ready.await(driver, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        TIMINGS.computeIfAbsent(page, p -> new Timing()).record(millis, met);
+        if (!met) {
+            throw new TimeoutException(String.format("Page '%s' not ready after %d ms: waiting for %s (%s)",
+                    page, millis, ready, url));
+        }
+        log.debug("Page '{}' ready in {} ms ({})", page, millis, ready);
+        return millis;
+    }
+
+    private static String pageLoadStrategy(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return null;
+        }
+        Object strategy = ((HasCapabilities) driver).getCapabilities().getCapability(CapabilityType.PAGE_LOAD_STRATEGY);
+        return strategy == null ? null : strategy.toString().toLowerCase();
+    }
+
+    private static void mark(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(MARK_SCRIPT);
+        } catch (WebDriverException e) {
+            // nothing scriptable is open yet (fresh session, about:blank in some drivers)
+            log.debug("Could not mark the current document: {}", e.getMessage() == null ? "" : e.getMessage().split("\n")[0]);
+        }
+    }
+
+    private static boolean isNewDocument(WebDriver driver) {
+        try {
+            return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(NEW_DOCUMENT_SCRIPT));
+        } catch (WebDriverException e) {
+            // the document was replaced while the script ran
+            return false;
+        }
+    }
+
+    public static Map<String, Stats> getStats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        TIMINGS.forEach((page, timing) -> stats.put(page, timing.snapshot()));
+        return stats;
+    }
+
+    private static final class Timing {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong notReady = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        void record(long millis, boolean ready) {
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+            if (!ready) {
+                notReady.incrementAndGet();
+            }
+        }
+
+        Stats snapshot() {
+            long n = count.get();
+            return new Stats(n, notReady.get(), n == 0 ? 0 : totalMillis.get() / n, maxMillis.get());
+        }
+    }
+
+    @Value
+    public static class Stats {
+        long navigations;
+        long notReady;
+        long avgMillis;
+        long maxMillis;
+
+        @Override
+        public String toString() {
+            return String.format("navigations=%d, notReady=%d, avg=%dms, max=%dms", navigations, notReady, avgMillis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.core.control.util;
+
+import org.example.configure.Config;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * What a page object needs before it can be used, checked by {@link PageLoader} after navigation instead of
+ * waiting for the browser's load event: the DOM being parsed, an element being visible, the network going
+ * quiet, or any predicate. Contracts combined with {@link #and} are awaited one after the other within the
+ * same timeout.
+ */
+public final class ReadinessContract {
+
+    private static final String DOM_READY_SCRIPT = "return document.readyState !== 'loading';";
+
+    private final String description;
+    private final Awaiter awaiter;
+
+    private ReadinessContract(String description, Awaiter awaiter) {
+        this.description = description;
+        this.awaiter = awaiter;
+    }
+
+    /**
+     * The document is parsed (readyState interactive or complete); what the eager strategy already waits for.
+     */
+    public static ReadinessContract domReady() {
+        return condition("DOM ready", driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(DOM_READY_SCRIPT)));
+    }
+
+    /**
+     * The first element matching the locator is displayed.
+     */
+    public static ReadinessContract visible(By locator) {
+        return condition("visible " + locator, driver -> {
+            List<WebElement> elements = driver.findElements(locator);
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        });
+    }
+
+    /**
+     * The first element matching the locator (LocatorCache syntax) is displayed.
+     */
+    public static ReadinessContract visible(String locator) {
+        return visible(LocatorCache.get(locator));
+    }
+
+    /**
+     * The page is quiet for network.idle.quiet with at most network.idle.max.inflight requests open.
+     */
+    public static ReadinessContract networkIdle() {
+        return networkIdle(Config.getNetworkIdleQuiet(), Config.getNetworkIdleMaxInflight());
+    }
+
+    public static ReadinessContract networkIdle(long quietMillis, int maxInflight) {
+        return new ReadinessContract("network idle",
+                (driver, timeout) -> NetworkIdle.await(driver, null, quietMillis, maxInflight, timeout));
+    }
+
+    /**
+     * Custom check, polled through the {@link WaitEngine} until it is true.
+     */
+    public static ReadinessContract condition(String description, Predicate<WebDriver> check) {
+        return new ReadinessContract(description,
+                (driver, timeout) -> WaitEngine.poll(driver, "page ready: " + description,
+                        d -> check.test(d) ? Boolean.TRUE : null, timeout) != null);
+    }
+
+    /**
+     * This contract, then the others, each with the time the previous ones left.
+     */
+    public ReadinessContract and(ReadinessContract... others) {
+        List<ReadinessContract> all = Stream.concat(Stream.of(this), Stream.of(others)).collect(Collectors.toList());
+        String joined = all.stream().map(c -> c.description).collect(Collectors.joining(" + "));
+        return new ReadinessContract(joined, (driver, timeout) -> {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            for (ReadinessContract contract : all) {
+                Duration left = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                if (!contract.await(driver, left)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Wait until the contract is met.
+     *
+     * @return false when it was not met within timeout
+     */
+    public boolean await(WebDriver driver, Duration timeout) {
+        return awaiter.await(driver, timeout);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    @FunctionalInterface
+    private interface Awaiter {
+        boolean await(WebDriver driver, Duration timeout);
+    }
+}
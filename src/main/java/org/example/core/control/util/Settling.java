@@ -0,0 +1,125 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Condition-based replacement for the fixed sleeps of the control layer. Each call is given the sleep it replaces
+ * as its upper bound and returns as soon as the page has settled; the difference is reported as time saved.
+ * <ul>
+ *     <li>{@link #awaitStable}: window scroll position and, if given, the element's bounding rect unchanged for
+ *     a few animation frames (smooth scrolling, CSS transitions, layout shifts). One round trip.</li>
+ *     <li>{@link #awaitCondition}: a WebDriver-side condition such as a checkbox state flip, polled by
+ *     {@link WaitEngine}.</li>
+ * </ul>
+ */
+@Slf4j
+public final class Settling {
+
+    // consecutive unchanged animation frames that count as settled
+    private static final int QUIET_FRAMES = 3;
+
+    private static final String STABLE_SCRIPT =
+            "var el = arguments[0], maxMs = arguments[1], quiet = arguments[2], done = arguments[arguments.length - 1];"
+            + "function sample() {"
+            + "  var r = el && el.isConnected ? el.getBoundingClientRect() : null;"
+            + "  return [window.scrollX, window.scrollY, r ? r.top : 0, r ? r.left : 0, r ? r.width : 0, r ? r.height : 0].join(',');"
+            + "}"
+            + "var last = sample(), stable = 0, finished = false;"
+            + "function finish(result) { if (!finished) { finished = true; done(result); } }"
+            // frames do not run in hidden tabs; the timer still ends the wait
+            + "var guard = setTimeout(function () { finish(false); }, maxMs);"
+            + "function frame() {"
+            + "  if (finished) { return; }"
+            + "  var now = sample();"
+            + "  if (now === last) { stable++; } else { stable = 0; last = now; }"
+            + "  if (stable >= quiet) { clearTimeout(guard); finish(true); return; }"
+            + "  requestAnimationFrame(frame);"
+            + "}"
+            + "requestAnimationFrame(frame);";
+
+    private static final AtomicLong settles = new AtomicLong();
+    private static final AtomicLong settledEarly = new AtomicLong();
+    private static final AtomicLong fallbacks = new AtomicLong();
+    private static final AtomicLong savedNanos = new AtomicLong();
+
+    private Settling() {}
+
+    /**
+     * Wait until scrolling, and the element's position and size if one is given, stop changing.
+     *
+     * @param max the fixed sleep this replaces; never waits longer
+     * @return true when the page settled before max
+     */
+    public static boolean awaitStable(WebDriver driver, WebElement element, Duration max) {
+        long start = System.nanoTime();
+        try {
+            Object settled = ((JavascriptExecutor) driver).executeAsyncScript(STABLE_SCRIPT, element, max.toMillis(), QUIET_FRAMES);
+            boolean early = Boolean.TRUE.equals(settled);
+            record(start, max, early);
+            return early;
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            // cannot observe the page: keep the old behaviour
+            fallbacks.incrementAndGet();
+            log.debug("Settle check unavailable, sleeping {} ms: {}", max.toMillis(),
+                    e.getMessage() == null ? "" : e.getMessage().split("\n")[0]);
+            DriverUtils.delay(max.toMillis() / 1000.0);
+            record(start, max, false);
+            return false;
+        }
+    }
+
+    /**
+     * Wait until condition holds, at most max.
+     *
+     * @return true when the condition held before max
+     */
+    public static boolean awaitCondition(WebDriver driver, String name, BooleanSupplier condition, Duration max) {
+        long start = System.nanoTime();
+        boolean early;
+        try {
+            WaitEngine.until(driver, name, d -> condition.getAsBoolean(), max);
+            early = true;
+        } catch (TimeoutException e) {
+            early = false;
+        }
+        record(start, max, early);
+        return early;
+    }
+
+    private static void record(long startNanos, Duration max, boolean early) {
+        settles.incrementAndGet();
+        if (early) {
+            settledEarly.incrementAndGet();
+        }
+        savedNanos.addAndGet(Math.max(0, max.toNanos() - (System.nanoTime() - startNanos)));
+    }
+
+    public static Stats getStats() {
+        return new Stats(settles.get(), settledEarly.get(), fallbacks.get(), TimeUnit.NANOSECONDS.toMillis(savedNanos.get()));
+    }
+
+    @Value
+    public static class Stats {
+        long settles;
+        long settledEarly;
+        long fallbacks;
+        long savedMillis;
+
+        @Override
+        public String toString() {
+            return String.format("settles=%d, settledEarly=%d, fallbacks=%d, timeSaved=%dms",
+                    settles, settledEarly, fallbacks, savedMillis);
+        }
+    }
+}
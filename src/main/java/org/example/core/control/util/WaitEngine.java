@@ -0,0 +1,243 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import org.example.configure.Config;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Single wait loop used by the controls and DriverUtils instead of a new WebDriverWait per call.
+ * <ul>
+ *     <li>Adaptive polling: the first re-check comes after wait.poll.min, then the interval doubles up to
+ *     wait.poll.max, so conditions that are already (or nearly) true return quickly.</li>
+ *     <li>Step budget: a {@link Budget} opened around a @Step caps every wait inside it at the time left in the
+ *     step, so nested and repeated waits cannot add up past wait.step.budget.</li>
+ *     <li>Latency histogram per condition name, logged after the suite.</li>
+ * </ul>
+ * Like WebDriverWait, NotFoundException and StaleElementReferenceException count as "not yet", and a timeout
+ * throws {@link TimeoutException}.
+ */
+public final class WaitEngine {
+
+    // upper bounds (ms) of the histogram buckets; the last bucket is open ended
+    private static final long[] BUCKETS = {50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    private static final ThreadLocal<Deque<Long>> STEP_DEADLINES = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final AtomicLong clampedWaits = new AtomicLong();
+    private static final Budget NO_BUDGET = () -> {};
+
+    private WaitEngine() {}
+
+    public static <T> T until(WebDriver driver, String condition, Function<? super WebDriver, T> check, Duration timeout) {
+        return until(driver, condition, check, timeout, Duration.ofMillis(Config.getWaitPollMax()));
+    }
+
+    /**
+     * Wait until check returns a non-null value other than Boolean.FALSE, polling at most every maxInterval.
+     */
+    public static <T> T until(WebDriver driver, String condition, Function<? super WebDriver, T> check,
+                              Duration timeout, Duration maxInterval) {
+        long start = System.nanoTime();
+        long deadline = start + effectiveTimeoutNanos(timeout.toNanos());
+        long interval = Math.min(Config.getWaitPollMin(), maxInterval.toMillis());
+        RuntimeException lastError = null;
+        while (true) {
+            try {
+                T value = check.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(condition, start, false);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                break;
+            }
+            sleep(Math.min(interval, remainingMillis));
+            interval = Math.min(interval * 2, maxInterval.toMillis());
+        }
+        long waited = record(condition, start, true);
+        throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d ms)",
+                condition, waited), lastError);
+    }
+
+    /**
+     * Wait helper bound to a driver and timeout, for call sites that used to build a WebDriverWait.
+     */
+    public static Waiter on(WebDriver driver, Duration timeout) {
+        return new Waiter(driver, timeout);
+    }
+
+    /**
+     * Same as {@link #until} but returns null instead of throwing on timeout.
+     */
+    public static <T> T poll(WebDriver driver, String condition, Function<? super WebDriver, T> check, Duration timeout) {
+        try {
+            return until(driver, condition, check, timeout);
+        } catch (TimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Open a wait budget for the current thread. Waits started before the returned budget is closed end no later
+     * than budgetMillis from now (or the enclosing budget, if that ends sooner). budgetMillis &lt;= 0 opens none.
+     */
+    public static Budget openBudget(long budgetMillis) {
+        if (budgetMillis <= 0) {
+            return NO_BUDGET;
+        }
+        Deque<Long> deadlines = STEP_DEADLINES.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Long outer = deadlines.peek();
+        deadlines.push(outer != null ? Math.min(outer, deadline) : deadline);
+        return () -> {
+            deadlines.poll();
+            if (deadlines.isEmpty()) {
+                STEP_DEADLINES.remove();
+            }
+        };
+    }
+
+    /**
+     * Time left in the current step budget, or null when no budget is open.
+     */
+    public static Duration remainingBudget() {
+        Long deadline = STEP_DEADLINES.get().peek();
+        return deadline == null ? null : Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+
+    private static long effectiveTimeoutNanos(long requested) {
+        Long deadline = STEP_DEADLINES.get().peek();
+        if (deadline == null) {
+            return requested;
+        }
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        if (remaining < requested) {
+            clampedWaits.incrementAndGet();
+            return remaining;
+        }
+        return requested;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+    }
+
+    private static long record(String condition, long startNanos, boolean timedOut) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        HISTOGRAMS.computeIfAbsent(condition, c -> new Histogram()).record(millis, timedOut);
+        return millis;
+    }
+
+    public static long getClampedWaits() {
+        return clampedWaits.get();
+    }
+
+    public static Map<String, Stats> getStats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        HISTOGRAMS.forEach((condition, histogram) -> stats.put(condition, histogram.snapshot()));
+        return stats;
+    }
+
+    /**
+     * Closing the budget restores the enclosing one.
+     */
+    @FunctionalInterface
+    public interface Budget extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static final class Waiter {
+        private final WebDriver driver;
+        private final Duration timeout;
+
+        private Waiter(WebDriver driver, Duration timeout) {
+            this.driver = driver;
+            this.timeout = timeout;
+        }
+
+        public <T> T until(String condition, Function<? super WebDriver, T> check) {
+            return WaitEngine.until(driver, condition, check, timeout);
+        }
+    }
+
+    private static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length + 1);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        void record(long millis, boolean timedOut) {
+            int bucket = 0;
+            while (bucket < BUCKETS.length && millis > BUCKETS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+            if (timedOut) {
+                timeouts.incrementAndGet();
+            }
+        }
+
+        Stats snapshot() {
+            long n = count.get();
+            return new Stats(n, timeouts.get(), n == 0 ? 0 : totalMillis.get() / n,
+                    percentile(n, 0.5), percentile(n, 0.9), maxMillis.get());
+        }
+
+        // upper bound of the bucket holding the percentile; the open bucket reports the max
+        private long percentile(long n, double p) {
+            long rank = (long) Math.ceil(n * p);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank && rank > 0) {
+                    return Math.min(BUCKETS[i], maxMillis.get());
+                }
+            }
+            return maxMillis.get();
+        }
+    }
+
+    @Value
+    public static class Stats {
+        long count;
+        long timeouts;
+        long avgMillis;
+        long p50Millis;
+        long p90Millis;
+        long maxMillis;
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, timeouts=%d, avg=%dms, p50<=%dms, p90<=%dms, max=%dms",
+                    count, timeouts, avgMillis, p50Millis, p90Millis, maxMillis);
+        }
+    }
+}
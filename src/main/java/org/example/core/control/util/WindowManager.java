@@ -0,0 +1,343 @@
+package org.example.core.control.util;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local bookkeeping of each session's windows and tabs: the handles in the order they were first seen, which
+ * window was current when each one appeared (its opener), which ones have not been visited yet, and the current
+ * handle. New tabs are found with one getWindowHandles() call compared against the known set, switching goes
+ * straight to the target and is skipped when it is already current, and closing a window also closes the tabs
+ * it opened.
+ * <p>
+ * The bookkeeping is only right when windows are switched and closed through this class (DriverUtils does).
+ * A page can still close its own window (window.close() in a popup or OAuth flow), so the current handle is
+ * confirmed with the browser before it is returned or a switch is skipped, and a NoSuchWindowException
+ * re-syncs the known handles before it is rethrown.
+ */
+@Slf4j
+public final class WindowManager {
+
+    // keyed by driver identity; entries go away with the session
+    private static final Map<WebDriver, State> STATES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong handleQueries = new AtomicLong();
+    private static final AtomicLong switches = new AtomicLong();
+    private static final AtomicLong savedSwitches = new AtomicLong();
+    private static final AtomicLong closed = new AtomicLong();
+
+    private WindowManager() {}
+
+    /**
+     * Handle of the current window, as the browser reports it.
+     *
+     * @throws NoSuchWindowException when the current window has been closed
+     */
+    public static String current(WebDriver driver) {
+        State state = state(driver);
+        String handle;
+        try {
+            handle = driver.getWindowHandle();
+        } catch (NoSuchWindowException e) {
+            resync(driver, state);
+            throw e;
+        }
+        synchronized (state) {
+            state.current = handle;
+            state.unvisited.remove(handle);
+            state.openers.putIfAbsent(handle, null);
+        }
+        return handle;
+    }
+
+    /**
+     * Open handles in the order they were first seen. Handles not seen before are recorded with the current
+     * window as their opener.
+     */
+    public static List<String> handles(WebDriver driver) {
+        State state = state(driver);
+        Set<String> open = queryHandles(driver);
+        synchronized (state) {
+            state.sync(open);
+            return new ArrayList<>(state.openers.keySet());
+        }
+    }
+
+    /**
+     * Window that was current when the given one appeared, or null for the session's first window.
+     */
+    public static String opener(WebDriver driver, String handle) {
+        State state = state(driver);
+        synchronized (state) {
+            return state.openers.get(handle);
+        }
+    }
+
+    /**
+     * Wait until a window that has not been switched to yet is open and return the newest one, without switching.
+     */
+    public static String awaitNewWindow(WebDriver driver, Duration timeout) {
+        State state = state(driver);
+        return WaitEngine.until(driver, "new window", d -> {
+            Set<String> open = queryHandles(d);
+            synchronized (state) {
+                state.sync(open);
+                return state.newestUnvisited();
+            }
+        }, timeout);
+    }
+
+    /**
+     * Wait until exactly expected windows are open.
+     */
+    public static void awaitWindowCount(WebDriver driver, int expected, Duration timeout) {
+        State state = state(driver);
+        WaitEngine.until(driver, "number of windows", d -> {
+            Set<String> open = queryHandles(d);
+            synchronized (state) {
+                state.sync(open);
+            }
+            return open.size() == expected;
+        }, timeout);
+    }
+
+    /**
+     * Switch to the window unless it is already current (and no frame of it is selected).
+     *
+     * @return true when a switch was made
+     */
+    public static boolean switchTo(WebDriver driver, String handle) {
+        State state = state(driver);
+        boolean tracked;
+        synchronized (state) {
+            tracked = handle.equals(state.current) && FrameContext.isTopDocument(driver);
+        }
+        // the tracked window may have closed itself; only skip when the browser agrees
+        if (tracked && handle.equals(browserCurrent(driver, state))) {
+            savedSwitches.incrementAndGet();
+            return false;
+        }
+        try {
+            driver.switchTo().window(handle);
+        } catch (NoSuchWindowException e) {
+            resync(driver, state);
+            throw e;
+        }
+        switches.incrementAndGet();
+        // a window switch lands on the top document and no element handle of the old window is usable
+        FrameContext.reset(driver);
+        ElementCache.invalidate(driver);
+        synchronized (state) {
+            state.current = handle;
+            state.unvisited.remove(handle);
+            state.openers.putIfAbsent(handle, null);
+        }
+        return true;
+    }
+
+    /**
+     * Switch to the newest window not visited yet, or the last opened one when every window was visited.
+     *
+     * @return the handle switched to
+     */
+    public static String switchToNewest(WebDriver driver) {
+        List<String> handles = handles(driver);
+        State state = state(driver);
+        String target;
+        synchronized (state) {
+            target = state.newestUnvisited();
+        }
+        if (target == null) {
+            target = handles.get(handles.size() - 1);
+        }
+        switchTo(driver, target);
+        return target;
+    }
+
+    /**
+     * Switch to the index-th window in the order windows were first seen. The known handles are used as long as
+     * the index is in range; a window closed behind our back refreshes them once.
+     */
+    public static String switchToIndex(WebDriver driver, int index) {
+        State state = state(driver);
+        List<String> handles;
+        synchronized (state) {
+            handles = new ArrayList<>(state.openers.keySet());
+        }
+        if (index >= handles.size()) {
+            handles = handles(driver);
+        }
+        try {
+            switchTo(driver, handles.get(index));
+        } catch (NoSuchWindowException e) {
+            handles = handles(driver);
+            switchTo(driver, handles.get(index));
+        }
+        return handles.get(index);
+    }
+
+    /**
+     * Close the current window and the windows it opened, then switch to its opener (or the first window left).
+     *
+     * @return the handle switched to, or null when no window is left
+     */
+    public static String closeCurrent(WebDriver driver) {
+        String closing = current(driver);
+        List<String> handles = handles(driver);
+        State state = state(driver);
+        String opener;
+        List<String> toClose = new ArrayList<>();
+        synchronized (state) {
+            opener = state.openers.get(closing);
+            state.collectDescendants(closing, toClose);
+        }
+        for (String child : toClose) {
+            close(driver, child);
+        }
+        close(driver, closing);
+        handles.removeAll(toClose);
+        handles.remove(closing);
+        String target = opener != null && handles.contains(opener) ? opener : handles.isEmpty() ? null : handles.get(0);
+        if (target != null) {
+            switchTo(driver, target);
+        }
+        return target;
+    }
+
+    /**
+     * Close every window except keep (default: the session's first window) and switch to it.
+     *
+     * @return the handle kept
+     */
+    public static String closeAllExcept(WebDriver driver, String keep) {
+        List<String> handles = handles(driver);
+        String target = keep != null && handles.contains(keep) ? keep : handles.get(0);
+        for (String handle : handles) {
+            if (!handle.equals(target)) {
+                close(driver, handle);
+            }
+        }
+        switchTo(driver, target);
+        return target;
+    }
+
+    private static void close(WebDriver driver, String handle) {
+        switchTo(driver, handle);
+        driver.close();
+        closed.incrementAndGet();
+        log.debug("Closed window {}", handle);
+        State state = state(driver);
+        synchronized (state) {
+            state.openers.remove(handle);
+            state.unvisited.remove(handle);
+            state.current = null;
+        }
+    }
+
+    /**
+     * Forget the session's windows, e.g. after it was quit or its windows were changed outside this class.
+     */
+    public static void reset(WebDriver driver) {
+        STATES.remove(driver);
+    }
+
+    private static State state(WebDriver driver) {
+        return STATES.computeIfAbsent(driver, d -> new State(d.getWindowHandle()));
+    }
+
+    // the browser's current handle, or null when the current window is gone
+    private static String browserCurrent(WebDriver driver, State state) {
+        try {
+            return driver.getWindowHandle();
+        } catch (NoSuchWindowException e) {
+            resync(driver, state);
+            return null;
+        }
+    }
+
+    // drop windows that were closed behind our back, including the current one
+    private static void resync(WebDriver driver, State state) {
+        Set<String> open = queryHandles(driver);
+        synchronized (state) {
+            state.sync(open);
+        }
+    }
+
+    private static Set<String> queryHandles(WebDriver driver) {
+        handleQueries.incrementAndGet();
+        return driver.getWindowHandles();
+    }
+
+    public static Stats getStats() {
+        return new Stats(handleQueries.get(), switches.get(), savedSwitches.get(), closed.get());
+    }
+
+    private static final class State {
+        // handle -> handle that was current when it appeared, in the order first seen
+        private final Map<String, String> openers = new LinkedHashMap<>();
+        private final Set<String> unvisited = new LinkedHashSet<>();
+        private String current;
+
+        State(String current) {
+            this.current = current;
+            openers.put(current, null);
+        }
+
+        void sync(Set<String> open) {
+            openers.keySet().retainAll(open);
+            unvisited.retainAll(open);
+            if (current != null && !open.contains(current)) {
+                current = null;
+            }
+            for (String handle : open) {
+                if (!openers.containsKey(handle)) {
+                    openers.put(handle, current);
+                    unvisited.add(handle);
+                }
+            }
+        }
+
+        String newestUnvisited() {
+            String newest = null;
+            for (String handle : unvisited) {
+                newest = handle;
+            }
+            return newest;
+        }
+
+        void collectDescendants(String handle, List<String> result) {
+            for (Map.Entry<String, String> entry : openers.entrySet()) {
+                if (handle.equals(entry.getValue()) && !result.contains(entry.getKey())) {
+                    collectDescendants(entry.getKey(), result);
+                    result.add(entry.getKey());
+                }
+            }
+        }
+    }
+
+    @Value
+    public static class Stats {
+        long handleQueries;
+        long switches;
+        long savedSwitches;
+        long closed;
+
+        @Override
+        public String toString() {
+            return String.format("handleQueries=%d, switches=%d, savedSwitches=%d, closed=%d",
+                    handleQueries, switches, savedSwitches, closed);
+        }
+    }
+}
@@ -2,19 +2,59 @@ package org.example.core.driver;
 
 import lombok.extern.slf4j.Slf4j;
 import org.example.configure.Config;
+import org.example.core.control.util.ElementCache;
+import org.example.core.control.util.FrameContext;
+import org.example.core.control.util.WindowManager;
+import org.example.enums.BrowserEventType;
 import org.example.enums.BrowserType;
+import org.example.utils.VirtualThreads;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.manager.SeleniumManager;
+import org.openqa.selenium.manager.SeleniumManagerOutput;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
 import org.testng.SkipException;
 import io.github.bonigarcia.wdm.WebDriverManager;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 @Slf4j
 public abstract class AbstractDriverManager implements IDriver {
 
-    protected WebDriver driver;
+    // shared by async driver init and pool pre-warming; daemon (or virtual) threads so they never block JVM exit
+    static final ExecutorService INIT_EXECUTOR = VirtualThreads.newExecutor("driver-init");
+    // driver binary resolution runs once per browser type for the whole JVM
+    private static final Map<BrowserType, CompletableFuture<Void>> BINARY_SETUP = new ConcurrentHashMap<>();
+
+    // volatile: read by the watchdog thread
+    protected volatile WebDriver driver;
+    // service of a local driver, kept so a hung session can be aborted; null for remote sessions
+    protected DriverService driverService;
     protected final BrowserType browserType;
+    private int reuseCount;
+    private boolean failed;
+    private boolean holdsPermit;
+    private volatile long unhealthySince;
+    private volatile boolean unhealthy;
+    private BrowserEvents events;
 
     protected AbstractDriverManager(BrowserType browserType) {
         this.browserType = browserType;
@@ -32,13 +72,21 @@ public abstract class AbstractDriverManager implements IDriver {
         }
         if (Config.isRemoteEnabled() || Config.isGridEnabled()) {
             initRemoteDriver();
+            DriverWatchdog.register(this);
         } else {
             try {
-                setupDriverBinary(this.browserType);
+                resolveDriverBinary().join();
+                holdsPermit = SessionGovernor.acquire();
                 initLocalDriver(); // Call method abstractly defined in subclasses Chrome, Firefox, Edge
+                DriverWatchdog.register(this);
             } catch (SkipException se) {
+                releasePermit();
                 throw se;
             } catch (Throwable t) {
+                releasePermit();
+                if (t instanceof CompletionException && t.getCause() != null) {
+                    t = t.getCause();
+                }
                 String msg = String.format("Failed to init driver for '%s': %s",
                         this.browserType, t.getMessage());
                 log.error(msg, t);
@@ -47,25 +95,93 @@ public abstract class AbstractDriverManager implements IDriver {
         }
     }
 
+    /**
+     * Start the driver on a background thread. Binary resolution is shared per browser type,
+     * so several browsers started together are bounded by the slowest one rather than their sum.
+     */
+    @Override
+    public CompletableFuture<WebDriver> initDriverAsync() {
+        if (driver != null) {
+            return CompletableFuture.completedFuture(driver);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            initDriver();
+            return driver;
+        }, INIT_EXECUTOR);
+    }
+
+    /**
+     * Resolve the driver binary for this browser once per JVM; later callers share the same future.
+     */
+    public CompletableFuture<Void> resolveDriverBinary() {
+        return BINARY_SETUP.computeIfAbsent(browserType,
+                type -> CompletableFuture.runAsync(() -> setupDriverBinary(type), INIT_EXECUTOR));
+    }
+
+    /**
+     * Point Selenium at a driver binary for the installed browser version. A path recorded in
+     * {@link DriverBinaryCache} is used directly; otherwise the driver is resolved through WebDriverManager
+     * (use.wdm=true) or Selenium Manager and recorded for later threads and JVMs.
+     * With driver.offline=true nothing is downloaded: only cached or already installed drivers are used.
+     */
     @Override
     public void setupDriverBinary(BrowserType browserType) {
-        if (!Boolean.getBoolean("use.wdm")) {
-            log.debug("Skipping WebDriverManager setup (use.wdm not set)");
+        WebDriverManager wdm = switch (browserType) {
+            case CHROME -> WebDriverManager.chromedriver();
+            case FIREFOX -> WebDriverManager.firefoxdriver();
+            case EDGE -> WebDriverManager.edgedriver();
+        };
+        boolean offline = Config.isDriverOffline();
+        String browserVersion = DriverBinaryCache.detectBrowserVersion(browserType, wdm.getBrowserPath());
+
+        Optional<String> cached = DriverBinaryCache.lookup(browserType, browserVersion, offline);
+        if (cached.isPresent()) {
+            log.info("Using cached {} driver for browser version {}: {}", browserType, browserVersion, cached.get());
+            System.setProperty(driverPathProperty(browserType), cached.get());
             return;
         }
 
         try {
-            switch (browserType) {
-                case CHROME -> WebDriverManager.chromedriver().setup();
-                case FIREFOX -> WebDriverManager.firefoxdriver().setup();
-                case EDGE -> WebDriverManager.edgedriver().setup();
-                default -> log.warn("No WebDriverManager config for: {}", browserType);
+            String driverPath;
+            String driverVersion;
+            if (Boolean.getBoolean("use.wdm") && !offline) {
+                if (browserVersion != null) {
+                    wdm.browserVersion(browserVersion);
+                }
+                wdm.setup();
+                driverPath = wdm.getDownloadedDriverPath();
+                driverVersion = wdm.getDownloadedDriverVersion();
+            } else {
+                SeleniumManagerOutput.Result result = SeleniumManager.getInstance()
+                        .getDriverPath(defaultCapabilities(browserType), offline);
+                driverPath = result.getDriverPath();
+                driverVersion = null;
+            }
+            if (driverPath != null && !driverPath.isBlank()) {
+                System.setProperty(driverPathProperty(browserType), driverPath);
+                DriverBinaryCache.store(browserType, browserVersion, driverPath, driverVersion);
             }
         } catch (Exception e) {
-            log.warn("WebDriverManager setup failed for {}: {}", browserType, e.getMessage());
+            log.warn("Driver resolution failed for {}{}: {}", browserType, offline ? " (offline)" : "", e.getMessage());
         }
     }
 
+    private static String driverPathProperty(BrowserType browserType) {
+        return switch (browserType) {
+            case CHROME -> ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY;
+            case FIREFOX -> GeckoDriverService.GECKO_DRIVER_EXE_PROPERTY;
+            case EDGE -> EdgeDriverService.EDGE_DRIVER_EXE_PROPERTY;
+        };
+    }
+
+    private static Capabilities defaultCapabilities(BrowserType browserType) {
+        return switch (browserType) {
+            case CHROME -> new ChromeOptions();
+            case FIREFOX -> new FirefoxOptions();
+            case EDGE -> new EdgeOptions();
+        };
+    }
+
     @Override
     public void initRemoteDriver() {
         String remoteUrl = Config.getRemoteUrl();
@@ -81,6 +197,18 @@ public abstract class AbstractDriverManager implements IDriver {
         }
     }
 
+    /**
+     * Open a session on the hub through its {@link GridSessionBroker}: with grid.broker.enabled the request waits
+     * for a free slot, otherwise it goes straight to the hub. Either way it uses the hub's shared HTTP client.
+     */
+    protected WebDriver newRemoteSession(URL url, Capabilities capabilities) {
+        GridSessionBroker broker = GridSessionBroker.forHub(url);
+        if (Config.isGridBrokerEnabled()) {
+            return broker.newSession(capabilities);
+        }
+        return new RemoteWebDriver(broker.commandExecutor(), capabilities);
+    }
+
     protected String resolveBrowserVersion() {
         String sys = System.getProperty("browser.version");
         return (sys != null && !sys.trim().isEmpty()) ? sys.trim() : null;
@@ -92,13 +220,190 @@ public abstract class AbstractDriverManager implements IDriver {
         return driver;
     }
 
+    /**
+     * Network and page event stream of this session, subscribed on first use.
+     */
+    @Override
+    public BrowserEvents events() {
+        if (events == null) {
+            WebDriver current = getDriver();
+            events = BrowserEvents.attach(current);
+            // navigations not made through DriverUtils (link clicks, redirects, a form in a frame targeting _top)
+            // put the session back on the top document and drop cached element handles
+            events.subscribe(BrowserEventType.FRAME_NAVIGATED, event -> {
+                FrameContext.reset(current);
+                ElementCache.invalidate(current);
+            });
+        }
+        return events;
+    }
+
+    /**
+     * The event stream if something already subscribed to it; window switches use this to move the subscription.
+     */
+    public Optional<BrowserEvents> attachedEvents() {
+        return Optional.ofNullable(events);
+    }
+
     @Override
     public void quitDriver() {
+        DriverWatchdog.unregister(this);
+        if (events != null) {
+            events.close();
+            events = null;
+        }
         if (driver != null) {
             try {
                 driver.quit();
             } catch (Exception ignored) {}
             driver = null;
         }
+        if (unhealthy) {
+            DriverWatchdog.recordRetired(System.nanoTime() - unhealthySince);
+            unhealthy = false;
+        }
+        driverService = null;
+        releasePermit();
+        reuseCount = 0;
+        failed = false;
+    }
+
+    /**
+     * True once the watchdog found the session dead or hung; it is replaced at the next borrow.
+     */
+    public boolean isUnhealthy() {
+        return unhealthy;
+    }
+
+    void markUnhealthy(long sinceNanos) {
+        if (!unhealthy) {
+            unhealthySince = sinceNanos;
+            unhealthy = true;
+        }
+    }
+
+    /**
+     * Cheap round trip to the browser used by the watchdog.
+     */
+    void ping() {
+        WebDriver current = driver;
+        if (current == null) {
+            throw new IllegalStateException("Driver not initialized");
+        }
+        current.getWindowHandle();
+    }
+
+    /**
+     * Stop the local driver process of a hung session so commands blocked on it fail immediately.
+     * Remote sessions cannot be aborted from here; they are only replaced.
+     */
+    void abort() {
+        DriverService service = driverService;
+        if (service == null) {
+            return;
+        }
+        try {
+            service.stop();
+            log.warn("Stopped {} driver process of hung session", browserType);
+        } catch (Exception e) {
+            log.debug("Could not stop {} driver process: {}", browserType, e.getMessage());
+        }
+    }
+
+    private void releasePermit() {
+        if (holdsPermit) {
+            holdsPermit = false;
+            SessionGovernor.release();
+        }
+    }
+
+    /**
+     * Reset the session so it can be reused by the next test class: clears cookies and stored data of every
+     * origin and continues in a single new tab on about:blank.
+     * Returns false when the session must be quit instead (failure recorded, max reuse reached, or unhealthy).
+     * <p>
+     * WebDriver itself only clears cookies and storage of the current origin, so the browser data is cleared over
+     * CDP (Chrome/Edge, local or remote). Other browsers have no such command; their sessions are never recycled.
+     */
+    @Override
+    public boolean recycle() {
+        if (driver == null) {
+            return false;
+        }
+        int maxReuse = Config.getRecycleMaxReuse();
+        if (unhealthy) {
+            log.info("Not recycling {} session: marked unhealthy by the watchdog", browserType);
+            return false;
+        }
+        if (failed) {
+            log.info("Not recycling {} session: a failure was recorded", browserType);
+            return false;
+        }
+        if (reuseCount >= maxReuse) {
+            log.info("Not recycling {} session: reached max reuse count {}", browserType, maxReuse);
+            return false;
+        }
+        Optional<HasCdp> cdp = cdp();
+        if (cdp.isEmpty()) {
+            log.info("Not recycling {} session: cookies and storage of other origins cannot be cleared without CDP",
+                    browserType);
+            return false;
+        }
+        try {
+            cdp.get().executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            cdp.get().executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", "*", "storageTypes", "all"));
+            // sessionStorage belongs to the tab rather than the origin: continue in a new tab on about:blank
+            driver.switchTo().newWindow(WindowType.TAB);
+            String fresh = WindowManager.closeAllExcept(driver, driver.getWindowHandle());
+            if (events != null) {
+                events.switchedTo(fresh);
+            }
+            FrameContext.reset(driver);
+            ElementCache.invalidate(driver);
+            if (events != null) {
+                events.clearHistory();
+            }
+            if (!isHealthy()) {
+                log.warn("Not recycling {} session: health check failed", browserType);
+                return false;
+            }
+            reuseCount++;
+            log.debug("Recycled {} session (reuse {}/{})", browserType, reuseCount, maxReuse);
+            return true;
+        } catch (Exception e) {
+            log.warn("Not recycling {} session: {}", browserType, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Record a test failure on this session so it is quit instead of recycled.
+     */
+    @Override
+    public void markFailed() {
+        failed = true;
+    }
+
+    protected boolean isHealthy() {
+        try {
+            driver.getWindowHandle();
+            Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState;");
+            return state != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Optional<HasCdp> cdp() {
+        if (browserType != BrowserType.CHROME && browserType != BrowserType.EDGE) {
+            return Optional.empty();
+        }
+        try {
+            WebDriver target = driver instanceof HasCdp ? driver : new Augmenter().augment(driver);
+            return target instanceof HasCdp ? Optional.of((HasCdp) target) : Optional.empty();
+        } catch (RuntimeException e) {
+            log.debug("No CDP access to the {} session: {}", browserType, e.getMessage());
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,28 @@
+package org.example.core.driver;
+
+import lombok.Builder;
+import lombok.Value;
+import org.example.enums.BrowserEventType;
+
+/**
+ * A network or page event pushed by the browser over CDP or BiDi.
+ * Fields that the protocol does not report for an event are null (status is 0).
+ */
+@Value
+@Builder(toBuilder = true)
+public class BrowserEvent {
+    BrowserEventType type;
+    String requestId;
+    String url;
+    String method;
+    // CDP resource type such as XHR, Fetch, Document; null over BiDi
+    String resourceType;
+    int status;
+    String errorText;
+    // System.nanoTime() when the event reached the client
+    long receivedNanos;
+
+    public boolean isXhr() {
+        return "XHR".equalsIgnoreCase(resourceType) || "Fetch".equalsIgnoreCase(resourceType);
+    }
+}
@@ -0,0 +1,444 @@
+package org.example.core.driver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.enums.BrowserEventType;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.BrowsingContextInspector;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.Network;
+import org.openqa.selenium.bidi.browsingcontext.NavigationInfo;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.DevToolsException;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Push-based stream of network and page events for one session.
+ * Chrome and Edge are subscribed over CDP (Network, Page and Performance domains), Firefox over WebDriver BiDi
+ * when the session was started with bidi.enabled. Without either protocol {@link #isPushBased()} is false and
+ * callers keep their JavaScript polling.
+ * <p>
+ * CDP commands and events are sent by their raw names, but the CDP session itself is created through
+ * Selenium's versioned domains, so it needs a selenium-devtools-vNNN artifact matching the browser version
+ * (selenium-java brings the latest few). When none matches, creating the session fails and the stream falls
+ * back to polling, both on attach and when a window switch opens a new CDP session.
+ * <p>
+ * CDP follows one tab; call {@link #switchedTo(String)} after switching windows. BiDi covers all tabs.
+ */
+@Slf4j
+public class BrowserEvents implements AutoCloseable {
+
+    public enum Protocol { CDP, BIDI, NONE }
+
+    private static final int HISTORY_SIZE = 500;
+
+    private final WebDriver driver;
+    // falls back to NONE when a CDP session cannot be opened for a new tab
+    private volatile Protocol protocol;
+    private final List<Consumer<BrowserEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final Deque<BrowserEvent> history = new ArrayDeque<>();
+    private final ReentrantLock historyLock = new ReentrantLock();
+    // request id -> url of requests sent but not finished or failed
+    private final Map<String, String> inflight = new ConcurrentHashMap<>();
+    private volatile long lastNetworkActivityNanos = System.nanoTime();
+
+    private DevTools devTools;
+    private Network bidiNetwork;
+    private BrowsingContextInspector bidiContexts;
+    // ids of BiDi browsing contexts that are iframes
+    private final Set<String> bidiFrameContexts = ConcurrentHashMap.newKeySet();
+
+    private BrowserEvents(WebDriver driver, Protocol protocol) {
+        this.driver = driver;
+        this.protocol = protocol;
+    }
+
+    /**
+     * Subscribe to the session's events using the best protocol the browser offers.
+     */
+    public static BrowserEvents attach(WebDriver driver) {
+        String browserName = driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserName()
+                : "";
+        try {
+            if ("firefox".equalsIgnoreCase(browserName)) {
+                if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+                    BrowserEvents events = new BrowserEvents(driver, Protocol.BIDI);
+                    events.subscribeBiDi();
+                    return events;
+                }
+            } else {
+                WebDriver target = driver instanceof HasDevTools ? driver : new Augmenter().augment(driver);
+                if (target instanceof HasDevTools) {
+                    Optional<DevTools> devTools = ((HasDevTools) target).maybeGetDevTools();
+                    if (devTools.isPresent()) {
+                        BrowserEvents events = new BrowserEvents(driver, Protocol.CDP);
+                        events.devTools = devTools.get();
+                        try {
+                            events.subscribeCdp(null);
+                        } catch (DevToolsException e) {
+                            log.warn("No CDP support for {} {} (is a matching selenium-devtools-vNNN on the classpath?),"
+                                    + " falling back to polling: {}", browserName, browserVersion(driver), firstLine(e));
+                            events.close();
+                            return new BrowserEvents(driver, Protocol.NONE);
+                        }
+                        return events;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not subscribe to {} browser events, falling back to polling: {}", browserName, e.getMessage());
+        }
+        log.debug("No CDP/BiDi connection for {}; browser events are not push-based", browserName);
+        return new BrowserEvents(driver, Protocol.NONE);
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public boolean isPushBased() {
+        return protocol != Protocol.NONE;
+    }
+
+    /**
+     * Register a listener for all events. Close the returned subscription to remove it.
+     */
+    public Subscription subscribe(Consumer<BrowserEvent> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    public Subscription subscribe(BrowserEventType type, Consumer<BrowserEvent> listener) {
+        return subscribe(event -> {
+            if (event.getType() == type) {
+                listener.accept(event);
+            }
+        });
+    }
+
+    /**
+     * First event matching the predicate, looking at recent history first and then waiting for new events.
+     * Returns empty on timeout or when the stream is not push-based.
+     */
+    public Optional<BrowserEvent> awaitEvent(Predicate<BrowserEvent> predicate, long timeoutMillis) {
+        if (!isPushBased()) {
+            return Optional.empty();
+        }
+        CompletableFuture<BrowserEvent> match = new CompletableFuture<>();
+        Subscription subscription = subscribe(event -> {
+            if (predicate.test(event)) {
+                match.complete(event);
+            }
+        });
+        try {
+            Optional<BrowserEvent> past = findRecent(predicate);
+            if (past.isPresent()) {
+                return past;
+            }
+            return Optional.of(match.get(timeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | ExecutionException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            subscription.close();
+        }
+    }
+
+    public Optional<BrowserEvent> findRecent(Predicate<BrowserEvent> predicate) {
+        historyLock.lock();
+        try {
+            return history.stream().filter(predicate).findFirst();
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    public List<BrowserEvent> getRecentEvents() {
+        historyLock.lock();
+        try {
+            return new ArrayList<>(history);
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    public void clearHistory() {
+        historyLock.lock();
+        try {
+            history.clear();
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    public int getInflightRequestCount() {
+        return inflight.size();
+    }
+
+    public Map<String, String> getInflightRequests() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(inflight));
+    }
+
+    public long getLastNetworkActivityNanos() {
+        return lastNetworkActivityNanos;
+    }
+
+    /**
+     * Performance metrics of the current page: CDP Performance.getMetrics on Chromium,
+     * the navigation timing entry elsewhere.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Number> getPerformanceMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        if (protocol == Protocol.CDP) {
+            Map<String, Object> result = devTools.send(new Command<>("Performance.getMetrics", Map.of(),
+                    input -> input.<Map<String, Object>>read(Json.MAP_TYPE)));
+            Object list = result.get("metrics");
+            if (list instanceof List) {
+                for (Object item : (List<Object>) list) {
+                    Map<String, Object> metric = (Map<String, Object>) item;
+                    metrics.put(String.valueOf(metric.get("name")), (Number) metric.get("value"));
+                }
+            }
+            return metrics;
+        }
+        Object timing = ((JavascriptExecutor) driver).executeScript(
+                "var n = performance.getEntriesByType('navigation')[0]; return n ? n.toJSON() : {};");
+        if (timing instanceof Map) {
+            ((Map<String, Object>) timing).forEach((key, value) -> {
+                if (value instanceof Number) {
+                    metrics.put(key, (Number) value);
+                }
+            });
+        }
+        return metrics;
+    }
+
+    /**
+     * Move the CDP subscription to another tab. No-op for BiDi, which already covers every tab.
+     */
+    public void switchedTo(String windowHandle) {
+        if (protocol != Protocol.CDP) {
+            return;
+        }
+        try {
+            devTools.clearListeners();
+            subscribeCdp(windowHandle);
+        } catch (RuntimeException e) {
+            // nothing is pushed any more; callers must poll instead of waiting for events that never come
+            log.warn("Could not move browser event subscription to window {}, falling back to polling: {}",
+                    windowHandle, firstLine(e));
+            protocol = Protocol.NONE;
+            inflight.clear();
+            try {
+                devTools.disconnectSession();
+            } catch (RuntimeException ignored) {
+                // the session was never opened
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        listeners.clear();
+        try {
+            if (devTools != null) {
+                devTools.clearListeners();
+                devTools.disconnectSession();
+            }
+            if (bidiNetwork != null) {
+                bidiNetwork.close();
+            }
+            if (bidiContexts != null) {
+                bidiContexts.close();
+            }
+        } catch (RuntimeException e) {
+            log.debug("Error closing browser event subscription: {}", e.getMessage());
+        }
+    }
+
+    private void subscribeCdp(String windowHandle) {
+        if (windowHandle == null) {
+            devTools.createSessionIfThereIsNotOne();
+        } else {
+            devTools.createSession(windowHandle);
+        }
+        // requests of the previous tab never finish here
+        inflight.clear();
+        for (String domain : List.of("Network.enable", "Page.enable", "Performance.enable")) {
+            devTools.send(new Command<>(domain, Map.of()));
+        }
+
+        devTools.addListener(cdpEvent("Network.requestWillBeSent"), params -> {
+            Map<String, Object> request = map(params.get("request"));
+            publish(BrowserEvent.builder().type(BrowserEventType.REQUEST_SENT)
+                    .requestId(str(params, "requestId")).url(str(request, "url")).method(str(request, "method"))
+                    .resourceType(str(params, "type")));
+        });
+        devTools.addListener(cdpEvent("Network.responseReceived"), params -> {
+            Map<String, Object> response = map(params.get("response"));
+            Object status = response.get("status");
+            publish(BrowserEvent.builder().type(BrowserEventType.RESPONSE_RECEIVED)
+                    .requestId(str(params, "requestId")).url(str(response, "url")).resourceType(str(params, "type"))
+                    .status(status instanceof Number ? ((Number) status).intValue() : 0));
+        });
+        devTools.addListener(cdpEvent("Network.loadingFinished"), params ->
+                publish(BrowserEvent.builder().type(BrowserEventType.REQUEST_FINISHED)
+                        .requestId(str(params, "requestId"))));
+        devTools.addListener(cdpEvent("Network.loadingFailed"), params ->
+                publish(BrowserEvent.builder().type(BrowserEventType.REQUEST_FAILED)
+                        .requestId(str(params, "requestId")).resourceType(str(params, "type"))
+                        .errorText(str(params, "errorText"))));
+        devTools.addListener(cdpEvent("Page.domContentEventFired"), params ->
+                publish(BrowserEvent.builder().type(BrowserEventType.DOM_CONTENT_LOADED)));
+        devTools.addListener(cdpEvent("Page.loadEventFired"), params ->
+                publish(BrowserEvent.builder().type(BrowserEventType.PAGE_LOADED)));
+        devTools.addListener(cdpEvent("Page.frameNavigated"), params -> {
+            Map<String, Object> frame = map(params.get("frame"));
+            if (frame.get("parentId") == null) {
+                publish(BrowserEvent.builder().type(BrowserEventType.FRAME_NAVIGATED).url(str(frame, "url")));
+            }
+        });
+    }
+
+    private void subscribeBiDi() {
+        bidiNetwork = new Network(driver);
+        bidiNetwork.onBeforeRequestSent(sent -> publish(BrowserEvent.builder().type(BrowserEventType.REQUEST_SENT)
+                .requestId(sent.getRequest().getRequestId()).url(sent.getRequest().getUrl())
+                .method(sent.getRequest().getMethod())));
+        bidiNetwork.onResponseCompleted(completed -> {
+            String requestId = completed.getRequest().getRequestId();
+            publish(BrowserEvent.builder().type(BrowserEventType.RESPONSE_RECEIVED).requestId(requestId)
+                    .url(completed.getResponseData().getUrl()).status((int) completed.getResponseData().getStatus()));
+            publish(BrowserEvent.builder().type(BrowserEventType.REQUEST_FINISHED).requestId(requestId));
+        });
+        bidiNetwork.onFetchError(error -> publish(BrowserEvent.builder().type(BrowserEventType.REQUEST_FAILED)
+                .requestId(error.getRequest().getRequestId()).url(error.getRequest().getUrl())
+                .errorText(error.getErrorText())));
+
+        bidiContexts = new BrowsingContextInspector(driver);
+        // like CDP, FRAME_NAVIGATED is only published for top-level documents, not for iframes
+        bidiContexts.onBrowsingContextCreated(info -> {
+            if (info.getParentBrowsingContext() != null) {
+                bidiFrameContexts.add(info.getId());
+            }
+        });
+        bidiContexts.onBrowsingContextDestroyed(info -> bidiFrameContexts.remove(info.getId()));
+        bidiContexts.onNavigationStarted(info -> {
+            if (!bidiFrameContexts.contains(info.getBrowsingContextId())) {
+                publishPage(BrowserEventType.FRAME_NAVIGATED, info);
+            }
+        });
+        bidiContexts.onDomContentLoaded(info -> publishPage(BrowserEventType.DOM_CONTENT_LOADED, info));
+        bidiContexts.onBrowsingContextLoaded(info -> publishPage(BrowserEventType.PAGE_LOADED, info));
+    }
+
+    private void publishPage(BrowserEventType type, NavigationInfo info) {
+        publish(BrowserEvent.builder().type(type).url(info.getUrl()));
+    }
+
+    private void publish(BrowserEvent.BrowserEventBuilder builder) {
+        BrowserEvent event = builder.receivedNanos(System.nanoTime()).build();
+        event = trackRequest(event);
+
+        historyLock.lock();
+        try {
+            if (history.size() >= HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(event);
+        } finally {
+            historyLock.unlock();
+        }
+
+        for (Consumer<BrowserEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.debug("Browser event listener failed on {}: {}", event.getType(), e.getMessage());
+            }
+        }
+    }
+
+    // keeps the in-flight table and fills in the url of finish/fail events, which CDP sends without one
+    private BrowserEvent trackRequest(BrowserEvent event) {
+        if (!event.getType().isNetwork() || event.getRequestId() == null) {
+            return event;
+        }
+        lastNetworkActivityNanos = event.getReceivedNanos();
+        switch (event.getType()) {
+            case REQUEST_SENT:
+                if (event.getUrl() != null && !event.getUrl().startsWith("data:")) {
+                    inflight.put(event.getRequestId(), event.getUrl());
+                }
+                return event;
+            case REQUEST_FINISHED:
+            case REQUEST_FAILED:
+                String url = inflight.remove(event.getRequestId());
+                if (event.getUrl() == null && url != null) {
+                    return event.toBuilder().url(url).build();
+                }
+                return event;
+            default:
+                return event;
+        }
+    }
+
+    private static Event<Map<String, Object>> cdpEvent(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    private static String str(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static String browserVersion(WebDriver driver) {
+        return driver instanceof HasCapabilities ? ((HasCapabilities) driver).getCapabilities().getBrowserVersion() : "";
+    }
+
+    private static String firstLine(RuntimeException e) {
+        return e.getMessage() == null ? "" : e.getMessage().split("\n")[0];
+    }
+
+    /**
+     * Handle for removing a listener.
+     */
+    @FunctionalInterface
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
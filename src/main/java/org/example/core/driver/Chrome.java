@@ -4,12 +4,11 @@ import org.example.configure.Config;
 import org.example.enums.BrowserType;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 
 import java.net.URL;
 import java.util.Arrays;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class Chrome extends AbstractDriverManager {
 
@@ -25,17 +24,15 @@ public class Chrome extends AbstractDriverManager {
         options.setExperimentalOption("useAutomationExtension", false);
 
         options.addArguments(
-                "--start-maximized",
                 "--remote-allow-origins=*",
                 "--disable-web-security",
                 "--disable-features=VizDisplayCompositor"
         );
+        LaunchProfiles.apply(options, Config.getLaunchProfile(), Config.isHeadless());
 
-        if (Config.isHeadless()) {
-            options.addArguments("--headless=new", "--disable-gpu");
-        }
-
-        driver = new ChromeDriver(options);
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        driverService = service;
+        driver = new ChromeDriver(service, options);
     }
 
     @Override
@@ -43,23 +40,13 @@ public class Chrome extends AbstractDriverManager {
         ChromeOptions options = new ChromeOptions();
         options.setCapability("browserName", "chrome");
         options.setCapability("acceptInsecureCerts", true);
-
-        if (Config.isHeadless()) {
-            options.addArguments("--headless=new", "--disable-gpu");
-        }
+        LaunchProfiles.apply(options, Config.getLaunchProfile(), Config.isHeadless());
 
         if (version != null) {
-            options.setBrowserVersion(sanitizeVersion(version));
+            options.setBrowserVersion(DriverBinaryCache.sanitizeVersion(version));
         }
 
-        driver = new org.openqa.selenium.remote.RemoteWebDriver(url, options);
+        driver = newRemoteSession(url, options);
         return driver;
     }
-
-    private String sanitizeVersion(String version) {
-        if (version == null) return null;
-        Pattern pattern = Pattern.compile("(\\d+(?:\\.\\d+)+)");
-        Matcher matcher = pattern.matcher(version);
-        return matcher.find() ? matcher.group(1) : version.trim();
-    }
 }
@@ -0,0 +1,149 @@
+package org.example.core.driver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+import org.example.enums.BrowserType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * On-disk cache of resolved driver binaries, keyed by browser type and installed browser version.
+ * Shared by all threads of a JVM and by later JVMs using the same cache directory (driver.cache.dir),
+ * so driver resolution only touches the network the first time a browser version is seen.
+ */
+@Slf4j
+public final class DriverBinaryCache {
+
+    private static final String CACHE_FILE = "driver-cache.properties";
+    private static final String UNKNOWN_VERSION = "unknown";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+(?:\\.\\d+)+)");
+    private static final Map<BrowserType, Optional<String>> DETECTED_VERSIONS = new ConcurrentHashMap<>();
+    // not synchronized: store() does file I/O and may run on virtual threads
+    private static final ReentrantLock STORE_LOCK = new ReentrantLock();
+
+    private DriverBinaryCache() {}
+
+    /**
+     * Cached driver path for the browser version, or empty if none is recorded or the file no longer exists.
+     * With {@code allowAnyVersion} the last driver resolved for the browser is used when the version has no entry.
+     */
+    public static Optional<String> lookup(BrowserType browserType, String browserVersion, boolean allowAnyVersion) {
+        Properties props = load();
+        String path = props.getProperty(key(browserType, browserVersion, "driverPath"));
+        if (path == null && (allowAnyVersion || browserVersion == null)) {
+            path = props.getProperty(browserType + ".latest.driverPath");
+        }
+        if (path == null || !Files.isRegularFile(Paths.get(path))) {
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    public static void store(BrowserType browserType, String browserVersion, String driverPath, String driverVersion) {
+        if (driverPath == null || driverPath.isBlank()) {
+            return;
+        }
+        STORE_LOCK.lock();
+        try {
+            write(browserType, browserVersion, driverPath, driverVersion);
+        } finally {
+            STORE_LOCK.unlock();
+        }
+    }
+
+    private static void write(BrowserType browserType, String browserVersion, String driverPath, String driverVersion) {
+        Path file = cacheFile();
+        Properties props = load();
+        props.setProperty(key(browserType, browserVersion, "driverPath"), driverPath);
+        props.setProperty(browserType + ".latest.driverPath", driverPath);
+        if (driverVersion != null) {
+            props.setProperty(key(browserType, browserVersion, "driverVersion"), driverVersion);
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            // write to a temp file and move it so concurrent JVMs never read a half-written cache
+            Path tmp = Files.createTempFile(file.getParent(), CACHE_FILE, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "Resolved driver binaries");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Cached {} driver for browser version {}: {}", browserType, browserVersion, driverPath);
+        } catch (IOException e) {
+            log.warn("Could not write driver cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Version of the locally installed browser, detected once per JVM by running "{binary} --version".
+     * Returns null if the browser binary is not found or does not report a version.
+     */
+    public static String detectBrowserVersion(BrowserType browserType, Optional<Path> browserPath) {
+        return DETECTED_VERSIONS.computeIfAbsent(browserType, type -> browserPath.flatMap(DriverBinaryCache::runVersionCommand))
+                .orElse(null);
+    }
+
+    public static String sanitizeVersion(String version) {
+        if (version == null) return null;
+        Matcher matcher = VERSION_PATTERN.matcher(version);
+        return matcher.find() ? matcher.group(1) : version.trim();
+    }
+
+    private static Optional<String> runVersionCommand(Path binary) {
+        try {
+            Process process = new ProcessBuilder(binary.toString(), "--version").redirectErrorStream(true).start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                output = reader.readLine();
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            Matcher matcher = VERSION_PATTERN.matcher(output == null ? "" : output);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (IOException e) {
+            log.debug("Could not detect browser version from {}: {}", binary, e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+        Path file = cacheFile();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            } catch (IOException e) {
+                log.warn("Could not read driver cache {}: {}", file, e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    private static Path cacheFile() {
+        return Paths.get(Config.getDriverCacheDir(), CACHE_FILE);
+    }
+
+    private static String key(BrowserType browserType, String browserVersion, String field) {
+        return browserType + "." + (browserVersion == null ? UNKNOWN_VERSION : browserVersion) + "." + field;
+    }
+}
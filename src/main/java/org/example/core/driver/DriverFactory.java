@@ -1,9 +1,15 @@
 package org.example.core.driver;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
 import org.example.enums.BrowserType;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 @Slf4j
@@ -11,6 +17,10 @@ public class DriverFactory {
 
     private static final Map<BrowserType, Supplier<AbstractDriverManager>> DRIVER_MAP = new EnumMap<>(BrowserType.class);
     private static final ThreadLocal<AbstractDriverManager> THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<CompletableFuture<AbstractDriverManager>> PENDING = new ThreadLocal<>();
+    private static final Map<BrowserType, DriverPool> POOLS = new ConcurrentHashMap<>();
+    // sessions kept alive across classes in recycle mode, quit at suite end
+    private static final Set<AbstractDriverManager> RECYCLED = ConcurrentHashMap.newKeySet();
 
     static {
         DRIVER_MAP.put(BrowserType.CHROME, Chrome::new);
@@ -18,11 +28,24 @@ public class DriverFactory {
         DRIVER_MAP.put(BrowserType.EDGE, Edge::new);
     }
 
+    /**
+     * Session of the current thread, used by every driver call. A session the watchdog aborted is not replaced
+     * here, since the test would carry on in a fresh browser on about:blank; that happens at the next
+     * {@link #prepareDriverManager(BrowserType)}.
+     *
+     * @throws IllegalStateException when the session was hung and aborted
+     */
     public static AbstractDriverManager getDriverManager(BrowserType type) {
+        awaitPendingDriver();
         AbstractDriverManager manager = THREAD_LOCAL.get();
+        if (manager != null && manager.getBrowserType() == type && manager.isUnhealthy()) {
+            throw new IllegalStateException(String.format(
+                    "The %s session was hung and aborted by the watchdog; it is replaced before the next test method",
+                    type));
+        }
         if (manager == null || manager.getBrowserType() != type) {
-            manager = DRIVER_MAP.getOrDefault(type, Chrome::new).get();
-            manager.initDriver();
+            release(manager);
+            manager = acquire(type);
             THREAD_LOCAL.set(manager);
         }
         log.info("Initialized WebDriver for browser: {}", type);
@@ -30,11 +53,175 @@ public class DriverFactory {
         return manager;
     }
 
+    /**
+     * Session for the next test method: waits for a driver started with {@link #startDriverManager} and replaces
+     * a session the watchdog marked unhealthy. Call at lifecycle boundaries only (before a method or class).
+     */
+    public static AbstractDriverManager prepareDriverManager(BrowserType type) {
+        awaitPendingDriver();
+        AbstractDriverManager manager = THREAD_LOCAL.get();
+        if (manager != null && manager.isUnhealthy()) {
+            log.warn("Replacing unhealthy {} session", manager.getBrowserType());
+            release(manager);
+            THREAD_LOCAL.remove();
+        }
+        return getDriverManager(type);
+    }
+
+    /**
+     * Start the driver for the current thread in the background and return immediately.
+     * The next {@link #getDriverManager(BrowserType)} on this thread waits for it to finish.
+     */
+    public static CompletableFuture<AbstractDriverManager> startDriverManager(BrowserType type) {
+        awaitPendingDriver();
+        AbstractDriverManager current = THREAD_LOCAL.get();
+        if (current != null && current.getBrowserType() == type && !current.isUnhealthy()) {
+            return CompletableFuture.completedFuture(current);
+        }
+        CompletableFuture<AbstractDriverManager> future =
+                CompletableFuture.supplyAsync(() -> acquire(type), AbstractDriverManager.INIT_EXECUTOR);
+        PENDING.set(future);
+        return future;
+    }
+
+    /**
+     * Resolve driver binaries for all given browsers in parallel, once per JVM. Nothing to do for remote/grid
+     * sessions, whose browsers and drivers live on the nodes.
+     */
+    public static void resolveDriverBinaries(Collection<BrowserType> types) {
+        if (Config.isRemoteEnabled() || Config.isGridEnabled()) {
+            return;
+        }
+        for (BrowserType type : types) {
+            newManager(type).resolveDriverBinary();
+        }
+    }
+
+    static AbstractDriverManager newManager(BrowserType type) {
+        return DRIVER_MAP.getOrDefault(type, Chrome::new).get();
+    }
+
+    private static AbstractDriverManager acquire(BrowserType type) {
+        if (Config.isPoolEnabled()) {
+            return getPool(type).borrow(Config.getPoolBorrowTimeout());
+        }
+        AbstractDriverManager manager = newManager(type);
+        manager.initDriver();
+        return manager;
+    }
+
+    private static void release(AbstractDriverManager manager) {
+        if (manager == null) {
+            return;
+        }
+        if (Config.isPoolEnabled()) {
+            getPool(manager.getBrowserType()).release(manager);
+        } else {
+            RECYCLED.remove(manager);
+            if (manager.isUnhealthy()) {
+                // quitting a hung session can block until the HTTP timeout; do it off the test thread
+                AbstractDriverManager.INIT_EXECUTOR.submit(manager::quitDriver);
+            } else {
+                manager.quitDriver();
+            }
+        }
+    }
+
+    private static void awaitPendingDriver() {
+        CompletableFuture<AbstractDriverManager> pending = PENDING.get();
+        if (pending == null) {
+            return;
+        }
+        PENDING.remove();
+        AbstractDriverManager manager;
+        try {
+            manager = pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        AbstractDriverManager previous = THREAD_LOCAL.get();
+        if (previous != null && previous != manager) {
+            release(previous);
+        }
+        THREAD_LOCAL.set(manager);
+    }
+
     public static void quitDriver() {
+        try {
+            awaitPendingDriver();
+        } catch (RuntimeException e) {
+            log.debug("Pending driver start failed: {}", e.getMessage());
+        }
         AbstractDriverManager manager = THREAD_LOCAL.get();
         if (manager != null) {
-            manager.quitDriver();
+            if (!Config.isPoolEnabled() && Config.isRecycleEnabled() && manager.recycle()) {
+                // keep the session bound to this thread for the next class
+                RECYCLED.add(manager);
+                return;
+            }
+            release(manager);
             THREAD_LOCAL.remove();
         }
     }
+
+    /**
+     * Record a failure on the current thread's session so it is quit instead of recycled.
+     */
+    public static void markFailed() {
+        AbstractDriverManager manager = THREAD_LOCAL.get();
+        if (manager != null) {
+            manager.markFailed();
+        }
+    }
+
+    /**
+     * Start pooled sessions in the background for the given browsers. No-op unless pool.enabled=true.
+     */
+    public static void prewarm(Collection<BrowserType> types) {
+        if (!Config.isPoolEnabled()) {
+            return;
+        }
+        int size = Config.getPoolSize();
+        for (BrowserType type : types) {
+            log.info("Pre-warming {} {} session(s)", size, type);
+            getPool(type).prewarm(size);
+        }
+    }
+
+    /**
+     * Quit all pooled and recycled sessions, close the shared grid HTTP clients and log the statistics.
+     */
+    public static void shutdown() {
+        for (DriverPool pool : POOLS.values()) {
+            log.info("Driver pool stats: {}", pool.getStats());
+            pool.shutdown();
+        }
+        POOLS.clear();
+        for (AbstractDriverManager manager : RECYCLED) {
+            manager.quitDriver();
+        }
+        RECYCLED.clear();
+        if (Config.isGovernorEnabled()) {
+            log.info("Session governor stats: {}", SessionGovernor.getStats());
+        }
+        if (Config.isWatchdogEnabled()) {
+            log.info("Driver watchdog stats: {}", DriverWatchdog.getStats());
+            DriverWatchdog.shutdown();
+        }
+        GridSessionBroker.shutdownAll();
+    }
+
+    public static Map<BrowserType, DriverPool.Stats> getPoolStats() {
+        Map<BrowserType, DriverPool.Stats> stats = new EnumMap<>(BrowserType.class);
+        POOLS.forEach((type, pool) -> stats.put(type, pool.getStats()));
+        return stats;
+    }
+
+    private static DriverPool getPool(BrowserType type) {
+        return POOLS.computeIfAbsent(type,
+                t -> new DriverPool(t, () -> newManager(t), Config.getPoolSize()));
+    }
 }
@@ -0,0 +1,209 @@
+package org.example.core.driver;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.enums.BrowserType;
+import org.testng.SkipException;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of started browser sessions for a single {@link BrowserType}.
+ * Sessions are borrowed by test threads instead of being launched and quit per class,
+ * and can be pre-started in the background so the first borrow does not pay for a cold start.
+ */
+@Slf4j
+public class DriverPool {
+
+    private final BrowserType browserType;
+    private final Supplier<AbstractDriverManager> factory;
+    private final int maxSize;
+    private final BlockingQueue<AbstractDriverManager> idle = new LinkedBlockingQueue<>();
+    // number of sessions owned by the pool: idle + borrowed + starting
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private volatile boolean closed = false;
+
+    public DriverPool(BrowserType browserType, Supplier<AbstractDriverManager> factory, int maxSize) {
+        this.browserType = browserType;
+        this.factory = factory;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Start sessions in the background until the pool holds {@code count} sessions (capped at the pool size).
+     */
+    public void prewarm(int count) {
+        int target = Math.min(count, maxSize);
+        while (size.get() < target && reserveSlot()) {
+            AbstractDriverManager.INIT_EXECUTOR.submit(() -> {
+                try {
+                    AbstractDriverManager manager = create();
+                    if (closed) {
+                        discard(manager);
+                    } else {
+                        idle.offer(manager);
+                        log.info("Pre-warmed {} session ({} idle)", browserType, idle.size());
+                    }
+                } catch (Throwable t) {
+                    size.decrementAndGet();
+                    log.warn("Failed to pre-warm {} session: {}", browserType, t.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Borrow a started session. Idle sessions are handed out first; if none is idle and the pool
+     * is not full a new one is started on the calling thread, otherwise the caller waits for a return.
+     */
+    public AbstractDriverManager borrow(long timeoutMillis) {
+        if (closed) {
+            throw new IllegalStateException("Driver pool for " + browserType + " is closed");
+        }
+        AbstractDriverManager manager = pollHealthy();
+        if (manager != null) {
+            hits.incrementAndGet();
+            return manager;
+        }
+        if (reserveSlot()) {
+            misses.incrementAndGet();
+            try {
+                return create();
+            } catch (RuntimeException e) {
+                size.decrementAndGet();
+                throw e;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            manager = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waits.incrementAndGet();
+            waitNanos.addAndGet(System.nanoTime() - start);
+        }
+        if (manager == null) {
+            throw new SkipException(String.format("Timed out after %d ms waiting for a pooled '%s' session (pool size %d)",
+                    timeoutMillis, browserType, maxSize));
+        }
+        if (manager.isUnhealthy()) {
+            // its slot is free again, so the retry can start a replacement
+            discard(manager);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return borrow(Math.max(0, timeoutMillis - elapsed));
+        }
+        hits.incrementAndGet();
+        return manager;
+    }
+
+    /**
+     * Return a borrowed session. Sessions that can no longer be used are quit and their slot is freed.
+     */
+    public void release(AbstractDriverManager manager) {
+        if (manager == null) {
+            return;
+        }
+        if (closed || !isReusable(manager)) {
+            discard(manager);
+            return;
+        }
+        idle.offer(manager);
+    }
+
+    /**
+     * Quit a borrowed session without returning it to the pool.
+     */
+    public void discard(AbstractDriverManager manager) {
+        if (manager == null) {
+            return;
+        }
+        if (manager.isUnhealthy()) {
+            // a hung session can block quit until the HTTP timeout
+            AbstractDriverManager.INIT_EXECUTOR.submit(manager::quitDriver);
+        } else {
+            manager.quitDriver();
+        }
+        size.decrementAndGet();
+    }
+
+    /**
+     * Quit all idle sessions and reject further borrows. Sessions still borrowed are quit on release.
+     */
+    public void shutdown() {
+        closed = true;
+        AbstractDriverManager manager;
+        while ((manager = idle.poll()) != null) {
+            discard(manager);
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(browserType, maxSize, size.get(), idle.size(), hits.get(), misses.get(), waits.get(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos.get()));
+    }
+
+    // next idle session, discarding the ones the watchdog marked unhealthy while they sat in the pool
+    private AbstractDriverManager pollHealthy() {
+        AbstractDriverManager manager;
+        while ((manager = idle.poll()) != null && manager.isUnhealthy()) {
+            log.warn("Discarding unhealthy idle {} session", browserType);
+            discard(manager);
+        }
+        return manager;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = size.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private AbstractDriverManager create() {
+        AbstractDriverManager manager = factory.get();
+        manager.initDriver();
+        return manager;
+    }
+
+    private boolean isReusable(AbstractDriverManager manager) {
+        if (!manager.recycle()) {
+            log.info("Discarding {} session on return", browserType);
+            return false;
+        }
+        return true;
+    }
+
+    @Value
+    public static class Stats {
+        BrowserType browserType;
+        int maxSize;
+        int size;
+        int idle;
+        long hits;
+        long misses;
+        long waits;
+        long waitTimeMillis;
+
+        @Override
+        public String toString() {
+            return String.format("%s pool: size=%d/%d, idle=%d, hits=%d, misses=%d, waits=%d, waitTime=%dms",
+                    browserType, size, maxSize, idle, hits, misses, waits, waitTimeMillis);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.core.driver;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+import org.example.utils.VirtualThreads;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background health check for live sessions. Every watchdog.interval each session gets a cheap command
+ * (current window handle); a session whose ping fails, or is still unanswered after watchdog.ping.timeout,
+ * is marked unhealthy. It is replaced by {@link DriverFactory} / {@link DriverPool} before the next test method
+ * or at the next borrow; driver calls made before that fail with a "session was hung and aborted" error.
+ * With watchdog.abort the driver process of a hung local session is stopped, so the test call blocked on it
+ * fails right away instead of waiting for the HTTP read timeout.
+ */
+@Slf4j
+public final class DriverWatchdog {
+
+    private static final Set<AbstractDriverManager> LIVE = ConcurrentHashMap.newKeySet();
+    // start time (nanos) of the ping still waiting for an answer, per session
+    private static final Map<AbstractDriverManager, Long> PINGS_IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final ExecutorService PING_EXECUTOR = VirtualThreads.newExecutor("driver-ping");
+    private static volatile ScheduledExecutorService scheduler;
+
+    private static final AtomicLong pings = new AtomicLong();
+    private static final AtomicLong failedPings = new AtomicLong();
+    private static final AtomicLong hungPings = new AtomicLong();
+    private static final AtomicLong retired = new AtomicLong();
+    private static final AtomicLong timeLostNanos = new AtomicLong();
+
+    private DriverWatchdog() {}
+
+    static void register(AbstractDriverManager manager) {
+        if (!Config.isWatchdogEnabled()) {
+            return;
+        }
+        LIVE.add(manager);
+        ensureStarted();
+    }
+
+    static void unregister(AbstractDriverManager manager) {
+        LIVE.remove(manager);
+        PINGS_IN_FLIGHT.remove(manager);
+    }
+
+    /**
+     * Record the time an unhealthy session was held from the moment it stopped answering until it was retired.
+     */
+    static void recordRetired(long lostNanos) {
+        retired.incrementAndGet();
+        timeLostNanos.addAndGet(Math.max(0, lostNanos));
+    }
+
+    public static void shutdown() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            current.shutdownNow();
+            scheduler = null;
+        }
+        LIVE.clear();
+        PINGS_IN_FLIGHT.clear();
+    }
+
+    public static Stats getStats() {
+        return new Stats(LIVE.size(), pings.get(), failedPings.get(), hungPings.get(), retired.get(),
+                TimeUnit.NANOSECONDS.toMillis(timeLostNanos.get()));
+    }
+
+    private static void ensureStarted() {
+        if (scheduler != null) {
+            return;
+        }
+        synchronized (DriverWatchdog.class) {
+            if (scheduler == null) {
+                long interval = Config.getWatchdogInterval();
+                ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "driver-watchdog");
+                    t.setDaemon(true);
+                    return t;
+                });
+                executor.scheduleWithFixedDelay(DriverWatchdog::check, interval, interval, TimeUnit.MILLISECONDS);
+                scheduler = executor;
+                log.info("Driver watchdog started (interval {} ms, ping timeout {} ms)", interval, Config.getWatchdogPingTimeout());
+            }
+        }
+    }
+
+    private static void check() {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Config.getWatchdogPingTimeout());
+        long now = System.nanoTime();
+        for (AbstractDriverManager manager : LIVE) {
+            if (manager.isUnhealthy()) {
+                continue;
+            }
+            Long started = PINGS_IN_FLIGHT.get(manager);
+            if (started == null) {
+                PINGS_IN_FLIGHT.put(manager, now);
+                PING_EXECUTOR.submit(() -> ping(manager, now));
+            } else if (now - started > timeoutNanos) {
+                hungPings.incrementAndGet();
+                manager.markUnhealthy(started);
+                log.warn("{} session did not answer for {} ms; marked unhealthy", manager.getBrowserType(),
+                        TimeUnit.NANOSECONDS.toMillis(now - started));
+                if (Config.isWatchdogAbortEnabled()) {
+                    PING_EXECUTOR.submit(manager::abort);
+                }
+            }
+        }
+    }
+
+    private static void ping(AbstractDriverManager manager, long started) {
+        try {
+            manager.ping();
+            pings.incrementAndGet();
+        } catch (Exception e) {
+            // a session quit while the ping was running is not a failure
+            if (LIVE.contains(manager)) {
+                failedPings.incrementAndGet();
+                manager.markUnhealthy(started);
+                log.warn("{} session failed health ping; marked unhealthy: {}", manager.getBrowserType(), e.getMessage());
+            }
+        } finally {
+            PINGS_IN_FLIGHT.remove(manager, started);
+        }
+    }
+
+    @Value
+    public static class Stats {
+        int liveSessions;
+        long pings;
+        long failedPings;
+        long hungPings;
+        long retiredSessions;
+        long timeLostMillis;
+
+        @Override
+        public String toString() {
+            return String.format("live=%d, pings=%d, failed=%d, hung=%d, retired=%d, timeLost=%dms",
+                    liveSessions, pings, failedPings, hungPings, retiredSessions, timeLostMillis);
+        }
+    }
+}
@@ -4,11 +4,10 @@ import org.example.configure.Config;
 import org.example.enums.BrowserType;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 
 import java.net.URL;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class Edge extends AbstractDriverManager {
 
@@ -23,19 +22,17 @@ public class Edge extends AbstractDriverManager {
         options.setCapability("ms:edgeChromium", true);
 
         options.addArguments(
-                "--start-maximized",
                 "--disable-web-security",
                 "--disable-features=VizDisplayCompositor",
                 "--disable-extensions",
                 "--no-sandbox",
                 "--disable-dev-shm-usage"
         );
+        LaunchProfiles.apply(options, Config.getLaunchProfile(), Config.isHeadless());
 
-        if (Config.isHeadless()) {
-            options.addArguments("--headless=new", "--disable-gpu");
-        }
-
-        driver = new EdgeDriver(options);
+        EdgeDriverService service = EdgeDriverService.createDefaultService();
+        driverService = service;
+        driver = new EdgeDriver(service, options);
     }
 
     @Override
@@ -43,23 +40,13 @@ public class Edge extends AbstractDriverManager {
         EdgeOptions options = new EdgeOptions();
         options.setCapability("browserName", "MicrosoftEdge");
         options.setCapability("acceptInsecureCerts", true);
-
-        if (Config.isHeadless()) {
-            options.addArguments("--headless=new", "--disable-gpu");
-        }
+        LaunchProfiles.apply(options, Config.getLaunchProfile(), Config.isHeadless());
 
         if (version != null) {
-            options.setBrowserVersion(sanitizeVersion(version));
+            options.setBrowserVersion(DriverBinaryCache.sanitizeVersion(version));
         }
 
-        driver = new org.openqa.selenium.remote.RemoteWebDriver(url, options);
+        driver = newRemoteSession(url, options);
         return driver;
     }
-
-    private String sanitizeVersion(String version) {
-        if (version == null) return null;
-        Pattern pattern = Pattern.compile("(\\d+(?:\\.\\d+)+)");
-        Matcher matcher = pattern.matcher(version);
-        return matcher.find() ? matcher.group(1) : version.trim();
-    }
 }
@@ -4,11 +4,10 @@ import org.example.configure.Config;
 import org.example.enums.BrowserType;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.firefox.FirefoxOptions;
 
 import java.net.URL;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class Firefox extends AbstractDriverManager {
 
@@ -22,14 +21,14 @@ public class Firefox extends AbstractDriverManager {
         options.setCapability("acceptInsecureCerts", true);
         options.addPreference("dom.webdriver.enabled", false);
         options.addPreference("useAutomationExtension", false);
-
-        options.addArguments("--start-maximized", "--disable-web-security");
-
-        if (Config.isHeadless()) {
-            options.addArguments("--headless=new", "--disable-gpu");
+        LaunchProfiles.apply(options, Config.getLaunchProfile(), Config.isHeadless());
+        if (Config.isBidiEnabled()) {
+            options.setCapability("webSocketUrl", true);
         }
 
-        driver = new FirefoxDriver(options);
+        GeckoDriverService service = GeckoDriverService.createDefaultService();
+        driverService = service;
+        driver = new FirefoxDriver(service, options);
     }
 
     @Override
@@ -37,23 +36,16 @@ public class Firefox extends AbstractDriverManager {
         FirefoxOptions options = new FirefoxOptions();
         options.setCapability("browserName", "firefox");
         options.setCapability("acceptInsecureCerts", true);
-
-        if (Config.isHeadless()) {
-            options.addArguments("--headless=new", "--disable-gpu");
+        LaunchProfiles.apply(options, Config.getLaunchProfile(), Config.isHeadless());
+        if (Config.isBidiEnabled()) {
+            options.setCapability("webSocketUrl", true);
         }
 
         if (version != null) {
-            options.setBrowserVersion(sanitizeVersion(version));
+            options.setBrowserVersion(DriverBinaryCache.sanitizeVersion(version));
         }
 
-        driver = new org.openqa.selenium.remote.RemoteWebDriver(url, options);
+        driver = newRemoteSession(url, options);
         return driver;
     }
-
-    private String sanitizeVersion(String version) {
-        if (version == null) return null;
-        Pattern pattern = Pattern.compile("(\\d+(?:\\.\\d+)+)");
-        Matcher matcher = pattern.matcher(version);
-        return matcher.find() ? matcher.group(1) : version.trim();
-    }
 }
@@ -0,0 +1,334 @@
+package org.example.core.driver;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+import org.example.utils.VirtualThreads;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Client-side broker for remote sessions on a Selenium Grid.
+ * Before a session is requested the hub's /status is polled for a free slot of the browser; while the grid is full
+ * requests wait in FIFO order with exponential backoff instead of failing, and a rejected request is retried until
+ * grid.broker.timeout. All sessions on the same hub share one HTTP client instead of opening one per driver.
+ */
+@Slf4j
+public class GridSessionBroker {
+
+    private static final Map<String, GridSessionBroker> BROKERS = new ConcurrentHashMap<>();
+    private static final java.net.http.HttpClient STATUS_CLIENT = java.net.http.HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(VirtualThreads.newExecutor("grid-status"))
+            .build();
+    private static final long MAX_BACKOFF_MILLIS = 10000;
+
+    private final URL hubUrl;
+    private final URI statusUri;
+    private final java.net.http.HttpClient statusClient;
+    private final long acquireTimeoutMillis;
+    private final long initialBackoffMillis;
+    private final Map<String, BrowserQueue> queues = new ConcurrentHashMap<>();
+    private volatile HttpClient sharedClient;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong statusFailures = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    public GridSessionBroker(URL hubUrl, java.net.http.HttpClient statusClient, long acquireTimeoutMillis, long initialBackoffMillis) {
+        this.hubUrl = hubUrl;
+        this.statusUri = statusUri(hubUrl);
+        this.statusClient = statusClient;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+    }
+
+    /**
+     * Broker shared by every session on the given hub, configured from grid.broker.*.
+     */
+    public static GridSessionBroker forHub(URL hubUrl) {
+        return BROKERS.computeIfAbsent(hubUrl.toString(), key ->
+                new GridSessionBroker(hubUrl, STATUS_CLIENT, Config.getGridBrokerTimeout(), Config.getGridBrokerBackoff()));
+    }
+
+    /**
+     * Log the statistics of every broker and close the shared HTTP clients.
+     */
+    public static void shutdownAll() {
+        for (GridSessionBroker broker : BROKERS.values()) {
+            log.info("Grid session broker stats ({}): {}", broker.hubUrl, broker.getStats());
+            broker.close();
+        }
+        BROKERS.clear();
+    }
+
+    /**
+     * Start a remote session once the grid has a free slot for the browser.
+     */
+    public WebDriver newSession(Capabilities capabilities) {
+        return acquire(capabilities.getBrowserName(), () -> new RemoteWebDriver(commandExecutor(), capabilities));
+    }
+
+    /**
+     * Command executor backed by the hub's shared HTTP client.
+     */
+    public CommandExecutor commandExecutor() {
+        ClientConfig config = ClientConfig.defaultConfig().baseUrl(hubUrl);
+        return new HttpCommandExecutor(Collections.emptyMap(), config, clientConfig -> sharedClient(clientConfig));
+    }
+
+    /**
+     * Run the session factory when a slot is free, waiting in line behind earlier requests for the same browser.
+     * Requests rejected by the grid with {@link SessionNotCreatedException} go back in line until the timeout.
+     */
+    public <T> T acquire(String browserName, Supplier<T> sessionFactory) {
+        requests.incrementAndGet();
+        BrowserQueue queue = queues.computeIfAbsent(browserName.toLowerCase(), name -> new BrowserQueue());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        SessionNotCreatedException lastError = null;
+
+        while (true) {
+            waitForSlot(browserName, queue, deadline, lastError);
+            try {
+                return sessionFactory.get();
+            } catch (SessionNotCreatedException e) {
+                lastError = e;
+                retries.incrementAndGet();
+                log.warn("Grid rejected {} session, retrying: {}", browserName, firstLine(e.getMessage()));
+            } finally {
+                queue.starting.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Free slots for the browser on the hub, or -1 if the status endpoint is unreachable or does not list slots.
+     */
+    public int freeSlots(String browserName) {
+        try {
+            java.net.http.HttpRequest request = java.net.http.HttpRequest.newBuilder(statusUri)
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            java.net.http.HttpResponse<String> response = statusClient.send(request, BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                statusFailures.incrementAndGet();
+                return -1;
+            }
+            return countFreeSlots(response.body(), browserName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            statusFailures.incrementAndGet();
+            log.debug("Could not read grid status from {}: {}", statusUri, e.getMessage());
+            return -1;
+        }
+    }
+
+    public Stats getStats() {
+        int depth = queues.values().stream().mapToInt(q -> q.waiting.get()).sum();
+        return new Stats(requests.get(), queued.get(), retries.get(), statusFailures.get(), depth, maxQueueDepth.get(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos.get()));
+    }
+
+    public void close() {
+        HttpClient client = sharedClient;
+        if (client instanceof SharedHttpClient shared) {
+            shared.delegate.close();
+        }
+        sharedClient = null;
+    }
+
+    private void waitForSlot(String browserName, BrowserQueue queue, long deadline, SessionNotCreatedException lastError) {
+        // the fair lock is the client-side queue: only its head polls the hub, the rest wait in arrival order
+        queue.lock.lock();
+        long start = System.nanoTime();
+        boolean waited = false;
+        try {
+            long backoff = initialBackoffMillis;
+            while (true) {
+                int free = freeSlots(browserName);
+                // sessions this JVM is still starting are not visible in /status yet;
+                // after a rejection back off at least once before asking again
+                boolean slotFree = free < 0 || free > queue.starting.get();
+                if (slotFree && (lastError == null || waited)) {
+                    queue.starting.incrementAndGet();
+                    return;
+                }
+                if (!waited) {
+                    waited = true;
+                    queued.incrementAndGet();
+                    int depth = queue.waiting.incrementAndGet();
+                    maxQueueDepth.accumulateAndGet(depth, Math::max);
+                    log.info("No free {} slot on grid {}, waiting ({} queued)", browserName, hubUrl, depth);
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    String msg = String.format("No free %s slot on grid %s within %d ms", browserName, hubUrl, acquireTimeoutMillis);
+                    throw lastError != null ? new SessionNotCreatedException(msg, lastError) : new SessionNotCreatedException(msg);
+                }
+                sleep(Math.min(jitter(backoff), TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        } finally {
+            if (waited) {
+                queue.waiting.decrementAndGet();
+                waitNanos.addAndGet(System.nanoTime() - start);
+            }
+            queue.lock.unlock();
+        }
+    }
+
+    private HttpClient sharedClient(ClientConfig config) {
+        HttpClient client = sharedClient;
+        if (client == null) {
+            synchronized (this) {
+                client = sharedClient;
+                if (client == null) {
+                    client = new SharedHttpClient(HttpClient.Factory.createDefault().createClient(config));
+                    sharedClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    static int countFreeSlots(String statusJson, String browserName) {
+        JsonElement root = JsonParser.parseString(statusJson);
+        JsonObject value = root.getAsJsonObject().getAsJsonObject("value");
+        if (value == null || !value.has("nodes")) {
+            return -1;
+        }
+        int free = 0;
+        for (JsonElement nodeElement : value.getAsJsonArray("nodes")) {
+            JsonObject node = nodeElement.getAsJsonObject();
+            if (node.has("availability") && !"UP".equalsIgnoreCase(node.get("availability").getAsString())) {
+                continue;
+            }
+            if (!node.has("slots")) {
+                continue;
+            }
+            for (JsonElement slotElement : node.getAsJsonArray("slots")) {
+                JsonObject slot = slotElement.getAsJsonObject();
+                JsonElement session = slot.get("session");
+                JsonObject stereotype = slot.getAsJsonObject("stereotype");
+                if ((session == null || session.isJsonNull()) && stereotype != null && stereotype.has("browserName")
+                        && browserName.equalsIgnoreCase(stereotype.get("browserName").getAsString())) {
+                    free++;
+                }
+            }
+        }
+        return free;
+    }
+
+    private static URI statusUri(URL hubUrl) {
+        String base = hubUrl.toString().replaceAll("/+$", "");
+        if (base.endsWith("/wd/hub")) {
+            base = base.substring(0, base.length() - "/wd/hub".length());
+        }
+        try {
+            return new URI(base + "/status");
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid grid url: " + hubUrl, e);
+        }
+    }
+
+    private static long jitter(long millis) {
+        return millis + ThreadLocalRandom.current().nextLong(millis / 5 + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for a grid slot");
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) return "";
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private static final class BrowserQueue {
+        final ReentrantLock lock = new ReentrantLock(true);
+        final AtomicInteger starting = new AtomicInteger();
+        final AtomicInteger waiting = new AtomicInteger();
+    }
+
+    /**
+     * Keeps the shared client open when a single session quits; it is closed by {@link #close()}.
+     */
+    private static final class SharedHttpClient implements HttpClient {
+        private final HttpClient delegate;
+
+        SharedHttpClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return delegate.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // shared across sessions
+        }
+    }
+
+    @Value
+    public static class Stats {
+        long requests;
+        long queued;
+        long retries;
+        long statusFailures;
+        int queueDepth;
+        int maxQueueDepth;
+        long waitTimeMillis;
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, queued=%d, retries=%d, statusFailures=%d, queueDepth=%d (max %d), waitTime=%dms",
+                    requests, queued, retries, statusFailures, queueDepth, maxQueueDepth, waitTimeMillis);
+        }
+    }
+}
@@ -3,16 +3,21 @@ package org.example.core.driver;
 import org.example.enums.BrowserType;
 import org.openqa.selenium.WebDriver;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
 public interface IDriver {
 
     void initDriver();
+    CompletableFuture<WebDriver> initDriverAsync();
     void initLocalDriver();
     void initRemoteDriver();
     WebDriver createRemoteDriver(URL url, String browserVersion);
     void setupDriverBinary(BrowserType browserType);
     WebDriver getDriver();
     void quitDriver();
+    boolean recycle();
+    void markFailed();
+    BrowserEvents events();
 
     BrowserType getBrowserType();
 }
@@ -0,0 +1,126 @@
+package org.example.core.driver;
+
+import org.example.configure.Config;
+import org.example.enums.LaunchProfile;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Translates a {@link LaunchProfile} into browser-specific options.
+ * Chrome and Edge share the Chromium switches; Firefox gets the equivalent preferences.
+ */
+public final class LaunchProfiles {
+
+    // third-party ad/analytics hosts that never affect the pages under test
+    private static final List<String> TRACKER_HOSTS = List.of(
+            "*.doubleclick.net",
+            "*.google-analytics.com",
+            "*.googlesyndication.com",
+            "*.googleadservices.com",
+            "*.facebook.net",
+            "*.hotjar.com",
+            "*.criteo.com",
+            "*.criteo.net",
+            "*.scorecardresearch.com",
+            "*.adnxs.com",
+            "*.taboola.com",
+            "*.outbrain.com"
+    );
+
+    private LaunchProfiles() {}
+
+    /**
+     * page.load.strategy when set, otherwise the profile's.
+     */
+    private static PageLoadStrategy pageLoadStrategy(LaunchProfile profile) {
+        PageLoadStrategy strategy = Config.getPageLoadStrategy();
+        return strategy != null ? strategy : profile.getPageLoadStrategy();
+    }
+
+    public static void apply(ChromiumOptions<?> options, LaunchProfile profile, boolean headless) {
+        options.setPageLoadStrategy(pageLoadStrategy(profile));
+        options.setPageLoadTimeout(Duration.ofMillis(Config.getPageLoadTimeout()));
+
+        if (profile.hasFixedWindowSize()) {
+            options.addArguments(String.format("--window-size=%d,%d", profile.getWindowWidth(), profile.getWindowHeight()));
+        } else {
+            options.addArguments("--start-maximized");
+        }
+
+        if (headless) {
+            options.addArguments("--headless=new", "--disable-gpu");
+        }
+
+        if (profile == LaunchProfile.DEFAULT) {
+            return;
+        }
+
+        options.addArguments(
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync",
+                "--no-first-run",
+                "--mute-audio"
+        );
+
+        Map<String, Object> prefs = new HashMap<>();
+        if (profile.isDisableImages()) {
+            options.addArguments("--blink-settings=imagesEnabled=false");
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
+        if (profile.isDisableWebFonts()) {
+            options.addArguments("--disable-remote-fonts");
+        }
+        if (profile.isDisableAnimations()) {
+            options.addArguments("--force-prefers-reduced-motion", "--disable-smooth-scrolling");
+        }
+        if (profile.isBlockTrackers()) {
+            String rules = TRACKER_HOSTS.stream()
+                    .map(host -> "MAP " + host + " ~NOTFOUND")
+                    .collect(Collectors.joining(", "));
+            options.addArguments("--host-resolver-rules=" + rules);
+        }
+        if (!prefs.isEmpty()) {
+            options.setExperimentalOption("prefs", prefs);
+        }
+    }
+
+    public static void apply(FirefoxOptions options, LaunchProfile profile, boolean headless) {
+        options.setPageLoadStrategy(pageLoadStrategy(profile));
+        options.setPageLoadTimeout(Duration.ofMillis(Config.getPageLoadTimeout()));
+
+        if (profile.hasFixedWindowSize()) {
+            options.addArguments("--width=" + profile.getWindowWidth(), "--height=" + profile.getWindowHeight());
+        }
+
+        if (headless) {
+            options.addArguments("-headless");
+        }
+
+        if (profile.isDisableImages()) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        if (profile.isDisableWebFonts()) {
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+        }
+        if (profile.isDisableAnimations()) {
+            options.addPreference("ui.prefersReducedMotion", 1);
+            options.addPreference("toolkit.cosmeticAnimations.enabled", false);
+            options.addPreference("general.smoothScroll", false);
+        }
+        if (profile.isBlockTrackers()) {
+            // Firefox ships its own tracker list; no host rules needed
+            options.addPreference("privacy.trackingprotection.enabled", true);
+            options.addPreference("privacy.trackingprotection.socialtracking.enabled", true);
+        }
+    }
+}
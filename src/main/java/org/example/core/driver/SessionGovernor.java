@@ -0,0 +1,155 @@
+package org.example.core.driver;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of live local browser sessions to what the machine can hold:
+ * the lowest of CPU cores, free memory and /dev/shm size divided by the per-session budget.
+ * Threads queue for a permit before launching a browser and give it back when the session is quit.
+ */
+@Slf4j
+public final class SessionGovernor {
+
+    private static final long MB = 1024L * 1024L;
+    private static final Path DEV_SHM = Paths.get("/dev/shm");
+
+    private static volatile Semaphore permits;
+    private static volatile int maxSessions;
+    private static final AtomicInteger queueDepth = new AtomicInteger();
+    private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private static final AtomicLong waits = new AtomicLong();
+    private static final AtomicLong waitNanos = new AtomicLong();
+    private static final AtomicLong overcommits = new AtomicLong();
+
+    private SessionGovernor() {}
+
+    /**
+     * Wait for a session permit. Returns false when the governor is disabled; in that case nothing must be released.
+     * If no permit frees up within governor.acquire.timeout the session is started anyway (logged as overcommit)
+     * rather than failing the test, since the holders may be sessions kept alive until the end of the suite.
+     */
+    public static boolean acquire() {
+        if (!Config.isGovernorEnabled()) {
+            return false;
+        }
+        Semaphore semaphore = semaphore();
+        if (semaphore.tryAcquire()) {
+            return true;
+        }
+
+        int depth = queueDepth.incrementAndGet();
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        log.info("Waiting for a browser session permit ({} live, {} queued)", maxSessions - semaphore.availablePermits(), depth);
+        long start = System.nanoTime();
+        try {
+            if (!semaphore.tryAcquire(Config.getGovernorAcquireTimeout(), TimeUnit.MILLISECONDS)) {
+                overcommits.incrementAndGet();
+                log.warn("No browser session permit after {} ms; starting session over the limit of {}",
+                        Config.getGovernorAcquireTimeout(), maxSessions);
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queueDepth.decrementAndGet();
+            waits.incrementAndGet();
+            waitNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    public static void release() {
+        Semaphore semaphore = permits;
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
+    public static Stats getStats() {
+        Semaphore semaphore = permits;
+        int live = semaphore == null ? 0 : maxSessions - semaphore.availablePermits();
+        return new Stats(maxSessions, live, queueDepth.get(), maxQueueDepth.get(), waits.get(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos.get()), overcommits.get());
+    }
+
+    private static Semaphore semaphore() {
+        if (permits == null) {
+            synchronized (SessionGovernor.class) {
+                if (permits == null) {
+                    maxSessions = computeMaxSessions();
+                    permits = new Semaphore(maxSessions, true);
+                }
+            }
+        }
+        return permits;
+    }
+
+    private static int computeMaxSessions() {
+        int configured = Config.getGovernorMaxSessions();
+        if (configured > 0) {
+            log.info("Session governor: max {} live browser sessions (configured)", configured);
+            return configured;
+        }
+
+        int byCpu = Runtime.getRuntime().availableProcessors();
+        long freeMemory = freePhysicalMemory();
+        int byMemory = freeMemory > 0 ? (int) (freeMemory / (Config.getGovernorSessionMemoryMb() * MB)) : Integer.MAX_VALUE;
+        long shm = devShmSize();
+        int byShm = shm > 0 ? (int) (shm / (Config.getGovernorSessionShmMb() * MB)) : Integer.MAX_VALUE;
+
+        int max = Math.max(1, Math.min(byCpu, Math.min(byMemory, byShm)));
+        log.info("Session governor: max {} live browser sessions (cpu={}, memory={} [{} MB free], shm={} [{} MB])",
+                max, byCpu, byMemory, freeMemory / MB, byShm, shm / MB);
+        return max;
+    }
+
+    private static long freePhysicalMemory() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            return sunOs.getFreeMemorySize();
+        }
+        return -1;
+    }
+
+    private static long devShmSize() {
+        if (!Files.isDirectory(DEV_SHM)) {
+            return -1;
+        }
+        try {
+            return Files.getFileStore(DEV_SHM).getUsableSpace();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Value
+    public static class Stats {
+        int maxSessions;
+        int liveSessions;
+        int queueDepth;
+        int maxQueueDepth;
+        long waits;
+        long waitTimeMillis;
+        long overcommits;
+
+        @Override
+        public String toString() {
+            return String.format("sessions=%d/%d, queued=%d (max %d), waits=%d, waitTime=%dms, overcommits=%d",
+                    liveSessions, maxSessions, queueDepth, maxQueueDepth, waits, waitTimeMillis, overcommits);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.example.enums.ReportType;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.function.Supplier;
 
@@ -28,6 +29,8 @@ public final class ReportManager {
 
     // cache reporters by normalized key of types (e.g. "ALLURE,EXTENT")
     private static final ConcurrentMap<String, ITestReporter> reporterCache = new ConcurrentHashMap<>();
+    // a lock instead of synchronized so virtual threads waiting here do not pin their carrier
+    private static final ReentrantLock LOCK = new ReentrantLock();
 
     /**
      * Get reporter instance based on report types loaded from Constants.
@@ -81,7 +84,8 @@ public final class ReportManager {
         ITestReporter cached = reporterCache.get(key);
         if (cached != null) return cached;
 
-        synchronized (ReportManager.class) {
+        LOCK.lock();
+        try {
             cached = reporterCache.get(key);
             if (cached != null) return cached;
 
@@ -114,6 +118,8 @@ public final class ReportManager {
 
             reporterCache.put(key, result);
             return result;
+        } finally {
+            LOCK.unlock();
         }
     }
 
@@ -249,7 +255,8 @@ public final class ReportManager {
      */
     public static ReportStrategy selectStrategy() {
         if (strategyInstance == null) {
-            synchronized (ReportManager.class) {
+            LOCK.lock();
+            try {
                 if (strategyInstance == null) {
                     List<ReportType> types = parseReportTypes(null);
                     ReportType primary = types.get(0); // first one is main output
@@ -270,6 +277,8 @@ public final class ReportManager {
                             break;
                     }
                 }
+            } finally {
+                LOCK.unlock();
             }
         }
         return strategyInstance;
@@ -279,10 +288,13 @@ public final class ReportManager {
      * Reset all cached reporters and strategies.
      */
     public static void reset() {
-        synchronized (ReportManager.class) {
+        LOCK.lock();
+        try {
             reporterInstance = null;
             strategyInstance = null;
             reporterCache.clear();
+        } finally {
+            LOCK.unlock();
         }
     }
 }
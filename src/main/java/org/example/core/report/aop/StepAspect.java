@@ -5,6 +5,8 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.example.configure.Config;
+import org.example.core.control.util.WaitEngine;
 import org.example.core.report.annotations.Step;
 import org.example.core.report.ITestReporter;
 import org.example.core.report.ReportManager;
@@ -18,6 +20,8 @@ public class StepAspect {
 
     @Around("@annotation(org.example.core.report.annotations.Step)")
     public Object aroundStep(ProceedingJoinPoint joinPoint) throws Throwable {
+        // waits inside the step share one budget, so nested/repeated waits cannot exceed wait.step.budget
+        WaitEngine.Budget budget = WaitEngine.openBudget(Config.getWaitStepBudget());
         try {
             Method method = getMethod(joinPoint);
             Step step = method.getAnnotation(Step.class);
@@ -56,6 +60,8 @@ public class StepAspect {
         } catch (Throwable t) {
             log.debug("@Step execution failed: {}", t.getMessage());
             throw t;
+        } finally {
+            budget.close();
         }
     }
 
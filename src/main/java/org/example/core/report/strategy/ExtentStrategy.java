@@ -20,6 +20,7 @@ import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.example.core.control.util.DriverUtils.getDriver;
 
@@ -28,6 +29,8 @@ public class ExtentStrategy implements ReportStrategy {
     private static final ExtentReports EXTENT = new ExtentReports();
     private static final ThreadLocal<ExtentTest> CURRENT_TEST = new ThreadLocal<>();
     private static final Map<String, ExtentTest> NAME_TO_TEST = new ConcurrentHashMap<>();
+    // report setup does file I/O; a lock instead of synchronized keeps virtual threads from pinning here
+    private static final ReentrantLock INIT_LOCK = new ReentrantLock();
 
     private static volatile boolean INITIALIZED = false;
     private static volatile String REPORT_DIR = null;
@@ -39,7 +42,8 @@ public class ExtentStrategy implements ReportStrategy {
     @Override
     public void onStart(ITestContext context) {
         if (INITIALIZED) return;
-        synchronized (ExtentStrategy.class) {
+        INIT_LOCK.lock();
+        try {
             if (INITIALIZED) return;
 
             String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
@@ -74,6 +78,8 @@ public class ExtentStrategy implements ReportStrategy {
             } finally {
                 INITIALIZED = true;
             }
+        } finally {
+            INIT_LOCK.unlock();
         }
     }
 
@@ -0,0 +1,20 @@
+package org.example.enums;
+
+/**
+ * Browser events published by {@link org.example.core.driver.BrowserEvents}.
+ * Network events carry a request id; page events carry the document URL.
+ */
+public enum BrowserEventType {
+    REQUEST_SENT,
+    RESPONSE_RECEIVED,
+    REQUEST_FINISHED,
+    REQUEST_FAILED,
+    DOM_CONTENT_LOADED,
+    PAGE_LOADED,
+    /** The top-level document navigated (iframe navigations are not published). */
+    FRAME_NAVIGATED;
+
+    public boolean isNetwork() {
+        return this == REQUEST_SENT || this == RESPONSE_RECEIVED || this == REQUEST_FINISHED || this == REQUEST_FAILED;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.enums;
+
+/**
+ * Ways {@link org.example.core.control.base.imp.Clickable} can click an element, in default trial order.
+ */
+public enum ClickStrategy {
+    ACTIONS,
+    NATIVE,
+    JS
+}
@@ -0,0 +1,57 @@
+package org.example.enums;
+
+import lombok.Getter;
+import org.openqa.selenium.PageLoadStrategy;
+
+/**
+ * Declarative browser launch profiles. Each profile only states what it wants;
+ * the driver managers translate it into browser-specific arguments and preferences.
+ */
+@Getter
+public enum LaunchProfile {
+    /** Maximized window, nothing blocked; navigation returns once the DOM is parsed and waits for the page's readiness contract. */
+    DEFAULT("default", false, false, false, false, 0, 0, PageLoadStrategy.EAGER),
+    /** Lower CPU/memory per session so more sessions fit on one agent. */
+    THROUGHPUT("throughput", true, true, true, true, 1280, 800, PageLoadStrategy.EAGER);
+
+    private final String key;
+    private final boolean disableImages;
+    private final boolean disableWebFonts;
+    private final boolean disableAnimations;
+    private final boolean blockTrackers;
+    private final int windowWidth;
+    private final int windowHeight;
+    private final PageLoadStrategy pageLoadStrategy;
+
+    LaunchProfile(String key, boolean disableImages, boolean disableWebFonts, boolean disableAnimations,
+                  boolean blockTrackers, int windowWidth, int windowHeight, PageLoadStrategy pageLoadStrategy) {
+        this.key = key;
+        this.disableImages = disableImages;
+        this.disableWebFonts = disableWebFonts;
+        this.disableAnimations = disableAnimations;
+        this.blockTrackers = blockTrackers;
+        this.windowWidth = windowWidth;
+        this.windowHeight = windowHeight;
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    public boolean hasFixedWindowSize() {
+        return windowWidth > 0 && windowHeight > 0;
+    }
+
+    /**
+     * Parse string to LaunchProfile enum (case-insensitive), defaults to DEFAULT if not found.
+     */
+    public static LaunchProfile fromString(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DEFAULT;
+        }
+        String normalized = value.trim().toLowerCase();
+        for (LaunchProfile profile : values()) {
+            if (profile.getKey().equals(normalized)) {
+                return profile;
+            }
+        }
+        return DEFAULT;
+    }
+}
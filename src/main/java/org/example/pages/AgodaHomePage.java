@@ -2,20 +2,23 @@ package org.example.pages;
 
 import lombok.extern.slf4j.Slf4j;
 import org.example.core.control.common.imp.*;
+import org.example.core.control.util.BulkExtractor;
 import org.example.core.control.util.DriverUtils;
+import org.example.core.control.util.ReadinessContract;
+import org.example.core.control.util.WaitEngine;
 import org.example.core.report.ITestReporter;
 import org.example.core.report.ReportManager;
 import org.example.core.report.annotations.Step;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
 import java.time.DayOfWeek;
 import org.example.common.Constants;
+import org.example.configure.Config;
 import org.example.models.Hotel;
 
 import static org.example.core.control.util.DriverUtils.getCurrentUrl;
@@ -65,13 +68,27 @@ public class AgodaHomePage extends BasePage {
     protected static String badgeXpath = ".//div[contains(@data-badge-id, 'pct')]//span";
     protected static String priceXpath = ".//span[@data-selenium='display-price']";
 
+    private static final BulkExtractor HOTEL_CARD_EXTRACTOR = BulkExtractor.forItems(propertyCardXpath)
+            .text("name", hotelNameXpath)
+            .count("stars", ratingXpath, starsXpath)
+            .text("location", locationXpath)
+            .text("cashback", cashbackXpath)
+            .texts("amenities", amenityXpath)
+            .texts("badges", badgeXpath)
+            .text("price", priceXpath);
+
+    @Override
+    protected ReadinessContract readiness() {
+        return ReadinessContract.visible(destinationSearchInput.getLocator());
+    }
+
     @Step("Navigate to home page")
     public void navigateToHomePage() {
         String current = getCurrentUrl();
         String base = Constants.getBaseUrl();
         reporter.logStep("Navigating to Agoda home page bang log report khong phai anonymous");
         if (current == null || !current.startsWith(base)) {
-            DriverUtils.navigateTo(base);
+            open(base);
         }
     }
 
@@ -330,22 +347,16 @@ public class AgodaHomePage extends BasePage {
         Button roomsPlusButton = new Button(roomsPlusButtonXpath);
         Button roomsMinusButton = new Button(roomsMinusButtonXpath);
 
-        while (currentRooms < targetRooms) {
-            roomsPlusButton.waitForElementClickable();
-            roomsPlusButton.click();
-            currentRooms++;
-            log.info("Increased rooms to: {}", currentRooms);
-        }
-
-        while (currentRooms > targetRooms) {
+        if (currentRooms < targetRooms) {
+            roomsPlusButton.clickRepeatedly(targetRooms - currentRooms);
+            logCount("Rooms", roomValueElement, targetRooms);
+        } else if (currentRooms > targetRooms) {
             if (roomsMinusButton.getAttribute("disabled") != null) {
                 log.warn("Cannot decrease rooms further - minimum reached");
-                break;
+            } else {
+                roomsMinusButton.clickRepeatedly(currentRooms - targetRooms);
+                logCount("Rooms", roomValueElement, targetRooms);
             }
-            roomsMinusButton.waitForElementClickable();
-            roomsMinusButton.click();
-            currentRooms--;
-            log.info("Decreased rooms to: {}", currentRooms);
         }
     }
 
@@ -360,22 +371,16 @@ public class AgodaHomePage extends BasePage {
         Button adultsPlusButton = new Button(adultsPlusButtonXpath);
         Button adultsMinusButton = new Button(adultsMinusButtonXpath);
 
-        while (currentAdults < targetAdults) {
-            adultsPlusButton.waitForElementClickable();
-            adultsPlusButton.click();
-            currentAdults++;
-            log.info("Increased adults to: {}", currentAdults);
-        }
-
-        while (currentAdults > targetAdults) {
+        if (currentAdults < targetAdults) {
+            adultsPlusButton.clickRepeatedly(targetAdults - currentAdults);
+            logCount("Adults", adultValueElement, targetAdults);
+        } else if (currentAdults > targetAdults) {
             if (adultsMinusButton.getAttribute("disabled") != null) {
                 log.warn("Cannot decrease adults further - minimum reached");
-                break;
+            } else {
+                adultsMinusButton.clickRepeatedly(currentAdults - targetAdults);
+                logCount("Adults", adultValueElement, targetAdults);
             }
-            adultsMinusButton.waitForElementClickable();
-            adultsMinusButton.click();
-            currentAdults--;
-            log.info("Decreased adults to: {}", currentAdults);
         }
     }
 
@@ -390,22 +395,28 @@ public class AgodaHomePage extends BasePage {
         Button childrenPlusButton = new Button(childrenPlusButtonXpath);
         Button childrenMinusButton = new Button(childrenMinusButtonXpath);
 
-        while (currentChildren < targetChildren) {
-            childrenPlusButton.waitForElementClickable();
-            childrenPlusButton.click();
-            currentChildren++;
-            log.info("Increased children to: {}", currentChildren);
-        }
-
-        while (currentChildren > targetChildren) {
+        if (currentChildren < targetChildren) {
+            childrenPlusButton.clickRepeatedly(targetChildren - currentChildren);
+            logCount("Children", childrenValueElement, targetChildren);
+        } else if (currentChildren > targetChildren) {
             if (childrenMinusButton.getAttribute("disabled") != null) {
                 log.warn("Cannot decrease children further - minimum reached");
-                break;
+            } else {
+                childrenMinusButton.clickRepeatedly(currentChildren - targetChildren);
+                logCount("Children", childrenValueElement, targetChildren);
             }
-            childrenMinusButton.waitForElementClickable();
-            childrenMinusButton.click();
-            currentChildren--;
-            log.info("Decreased children to: {}", currentChildren);
+        }
+    }
+
+    // the counter re-renders after the clicks (and stops at its minimum), so report the value it really shows
+    private void logCount(String name, Element valueElement, int target) {
+        WaitEngine.poll(DriverUtils.getDriver(), "occupancy count",
+                d -> Integer.parseInt(valueElement.getText().trim()) == target, Duration.ofSeconds(2));
+        int actual = Integer.parseInt(valueElement.getText().trim());
+        if (actual == target) {
+            log.info("{} set to: {}", name, actual);
+        } else {
+            log.warn("{} is {} instead of the requested {}", name, actual, target);
         }
     }
 
@@ -413,20 +424,29 @@ public class AgodaHomePage extends BasePage {
     public List<Hotel> getAllHotelsFromListViewSearch(int expectedHotelCount) {
         List<Hotel> hotels = new ArrayList<>();
         try {
-            List<Element> hotelCards = hotelListContainer.getListElements(Element.class, propertyCardXpath);
-            log.info("Found {} hotel cards in search results", hotelCards.size());
-
-            for (int i = 0; i < hotelCards.size() && i < expectedHotelCount; i++) {
-                try {
-                    Element cardElement = hotelCards.get(i);
-                    cardElement.scrollToView();
-                    Hotel hotel = extractHotelFromCard(cardElement);
-                    if (hotel != null) {
-                        hotels.add(hotel);
-                        log.info("Hotel {}: {}", i + 1, hotel.toString());
+            // one script call for all cards; cards whose lazy content (name, price, location) is not rendered yet
+            // are scrolled into view and read one by one
+            List<Hotel> extracted = hotelListContainer.extractAll(HOTEL_CARD_EXTRACTOR, expectedHotelCount, AgodaHomePage::toHotel);
+            log.info("Found {} hotel cards in search results", extracted.size());
+
+            List<Element> hotelCards = null;
+            for (int i = 0; i < extracted.size(); i++) {
+                Hotel hotel = extracted.get(i);
+                if (hotel == null) {
+                    try {
+                        if (hotelCards == null) {
+                            hotelCards = hotelListContainer.getListElements(Element.class, propertyCardXpath);
+                        }
+                        Element cardElement = hotelCards.get(i);
+                        cardElement.scrollToView();
+                        hotel = extractHotelFromCard(cardElement);
+                    } catch (Exception e) {
+                        log.warn("Error extracting hotel info at index {}: {}", i, e.getMessage());
                     }
-                } catch (Exception e) {
-                    log.warn("Error extracting hotel info at index {}: {}", i, e.getMessage());
+                }
+                if (hotel != null) {
+                    hotels.add(hotel);
+                    log.info("Hotel {}: {}", i + 1, hotel.toString());
                 }
             }
 
@@ -439,6 +459,41 @@ public class AgodaHomePage extends BasePage {
         }
     }
 
+    private static Hotel toHotel(BulkExtractor.Row row) {
+        String name = row.getText("name");
+        String price = row.getText("price");
+        String locationText = row.getText("location");
+        // price and location are what the search checks assert on; without them the card is not fully rendered
+        if (isBlank(name) || isBlank(price) || isBlank(locationText)) {
+            return null;
+        }
+        Hotel.HotelBuilder hotelBuilder = Hotel.builder().name(name);
+        Integer stars = row.getCount("stars");
+        if (stars != null) {
+            hotelBuilder.rating(stars + " stars");
+        }
+        String[] locationParts = locationText.split(" - ");
+        if (locationParts.length >= 2) {
+            hotelBuilder.location(locationParts[0]);
+            hotelBuilder.distanceToCenter(locationParts[1]);
+        } else {
+            hotelBuilder.location(locationText);
+        }
+        hotelBuilder.cashbackReward(row.getText("cashback"));
+        hotelBuilder.amenities(row.getTexts("amenities").stream()
+                .filter(text -> !text.isEmpty() && !text.startsWith("+"))
+                .toArray(String[]::new));
+        hotelBuilder.badges(row.getTexts("badges").stream()
+                .filter(text -> !text.isEmpty())
+                .toArray(String[]::new));
+        hotelBuilder.price(price);
+        return hotelBuilder.build();
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.trim().isEmpty();
+    }
+
     private Hotel extractHotelFromCard(Element card) {
         try {
             Hotel.HotelBuilder hotelBuilder = Hotel.builder();
@@ -564,11 +619,8 @@ public class AgodaHomePage extends BasePage {
 
     @Step("Switch to search results tab")
     public void switchToSearchResultsTab() {
-        // Wait for new window to open (expecting 2 windows total)
-        DriverUtils.waitForNewWindowOpened(2);
-
-        // Switch to the new window (index 1, since original is index 0)
-        DriverUtils.switchToWindow(1);
+        // Wait for the results tab opened by the search and switch straight to it
+        DriverUtils.switchToOpenedWindow();
 
         // Wait for search results URL to load
         DriverUtils.waitForUrlContains("search", DriverUtils.getTimeOut());
@@ -660,9 +712,9 @@ public class AgodaHomePage extends BasePage {
             
             // Wait for sort operation to complete (either count changes or prices reorder)
             // Note: Sort might not change count, but should reorder prices
-            WebDriverWait wait = new WebDriverWait(DriverUtils.getWebDriver(), Duration.ofSeconds(timeoutSeconds));
+            WaitEngine.Waiter wait = WaitEngine.on(DriverUtils.getWebDriver(), Duration.ofSeconds(timeoutSeconds));
             
-            boolean sortCompleted = wait.until(driver -> {
+            boolean sortCompleted = wait.until("property card count change", driver -> {
                 try {
                     // Check if sort button is still processing (has loading state) or if prices have changed order
                     List<Element> currentCards = hotelListContainer.getListElements(Element.class, propertyCardXpath);
@@ -673,9 +725,8 @@ public class AgodaHomePage extends BasePage {
                         return true;
                     }
                     
-                    // Even if count doesn't change, wait a bit for sorting to stabilize
-                    // Return true after a short delay to allow sorting to complete
-                    DriverUtils.delay(0.5);
+                    // Even if count doesn't change, let the sort request and re-render finish
+                    DriverUtils.waitForNetworkIdle(Config.getNetworkIdleQuiet(), Config.getNetworkIdleMaxInflight(), 3);
                     return true; // Accept that sorting may be complete even if count doesn't change
                 } catch (Exception ex) {
                     log.debug("Error checking sort completion: {}", ex.getMessage());
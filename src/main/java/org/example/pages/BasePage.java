@@ -3,6 +3,7 @@ package org.example.pages;
 import lombok.extern.slf4j.Slf4j;
 import org.example.core.control.common.imp.Element;
 import org.example.core.control.util.DriverUtils;
+import org.example.core.control.util.ReadinessContract;
 import org.example.core.report.ReportManager;
 import org.example.core.report.ITestReporter;
 import org.openqa.selenium.By;
@@ -15,6 +16,22 @@ public class BasePage {
 
     protected ITestReporter reporter = ReportManager.getReporter();
 
+    /**
+     * What this page needs before it can be used after navigation; pages override it with an element or
+     * condition of their own.
+     */
+    protected ReadinessContract readiness() {
+        return ReadinessContract.domReady();
+    }
+
+    /**
+     * Navigate to url and return as soon as {@link #readiness()} is met; time to ready is recorded under the
+     * page's class name.
+     */
+    protected void open(String url) {
+        DriverUtils.navigateTo(url, getClass().getSimpleName(), readiness());
+    }
+
     protected WebElement findElement(By locator) {
         return DriverUtils.getWebDriver().findElement(locator);
     }
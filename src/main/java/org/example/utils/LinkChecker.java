@@ -0,0 +1,284 @@
+package org.example.utils;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent URL health checks on one shared asynchronous {@link HttpClient}.
+ * <ul>
+ *     <li>HEAD first; an error status other than 404/410 is confirmed with a GET, since some servers reject or
+ *     mishandle HEAD.</li>
+ *     <li>At most perHostLimit requests per host at a time; the rest wait in line without holding a thread.</li>
+ *     <li>Results are cached per URL across pages. Transient failures (5xx, 429, I/O errors) are not cached, so
+ *     the next check of that URL asks again.</li>
+ *     <li>Redirects are not followed; a 3xx is reported as such with its Location.</li>
+ * </ul>
+ */
+@Slf4j
+public class LinkChecker {
+
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(VirtualThreads.newExecutor("link-check"))
+            .build();
+    private static volatile LinkChecker shared;
+
+    private final HttpClient client;
+    private final int perHostLimit;
+    private final Duration requestTimeout;
+    private final Map<String, CompletableFuture<Result>> cache = new ConcurrentHashMap<>();
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong getFallbacks = new AtomicLong();
+    private final AtomicLong broken = new AtomicLong();
+
+    public LinkChecker(HttpClient client, int perHostLimit, Duration requestTimeout) {
+        this.client = client;
+        this.perHostLimit = Math.max(1, perHostLimit);
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Checker shared by the whole run, configured from link.check.*.
+     */
+    public static LinkChecker shared() {
+        LinkChecker checker = shared;
+        if (checker == null) {
+            synchronized (LinkChecker.class) {
+                checker = shared;
+                if (checker == null) {
+                    checker = new LinkChecker(SHARED_CLIENT, Config.getLinkCheckPerHost(),
+                            Duration.ofMillis(Config.getLinkCheckTimeout()));
+                    shared = checker;
+                }
+            }
+        }
+        return checker;
+    }
+
+    public Result check(String url) {
+        return checkAsync(url).join();
+    }
+
+    /**
+     * Check url; with useCache=false a fresh request is always made and its result is not cached, for callers
+     * that poll until the status changes.
+     */
+    public Result check(String url, boolean useCache) {
+        return checkAsync(url, useCache).join();
+    }
+
+    /**
+     * Check every distinct URL concurrently; results come back in the order of first appearance.
+     */
+    public List<Result> checkAll(Collection<String> urls) {
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        for (String url : new LinkedHashSet<>(urls)) {
+            futures.add(checkAsync(url));
+        }
+        List<Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Result> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    public CompletableFuture<Result> checkAsync(String url) {
+        return checkAsync(url, true);
+    }
+
+    public CompletableFuture<Result> checkAsync(String url, boolean useCache) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        if (useCache) {
+            CompletableFuture<Result> cached = cache.get(url);
+            if (cached == null) {
+                cached = cache.putIfAbsent(url, future);
+            }
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+        }
+        checks.incrementAndGet();
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            complete(url, future, Result.failed(url, "HEAD", 0, e));
+            return future;
+        }
+        String host = uri.getHost() == null ? "" : uri.getHost() + ":" + uri.getPort();
+        HostLimiter limiter = limiters.computeIfAbsent(host, h -> new HostLimiter(perHostLimit));
+        limiter.submit(() -> {
+            long start = System.nanoTime();
+            CompletableFuture<Result> request;
+            try {
+                request = send(uri, "HEAD", start);
+            } catch (IllegalArgumentException e) {
+                // not an http(s) URL
+                limiter.release();
+                complete(url, future, Result.failed(url, "HEAD", 0, e));
+                return;
+            }
+            request
+                    .thenCompose(head -> {
+                        if (!needsGet(head)) {
+                            return CompletableFuture.completedFuture(head);
+                        }
+                        getFallbacks.incrementAndGet();
+                        return send(uri, "GET", start);
+                    })
+                    .whenComplete((result, error) -> {
+                        limiter.release();
+                        complete(url, future, error == null ? result : Result.failed(url, "HEAD", elapsed(start), error));
+                    });
+        });
+        return future;
+    }
+
+    private CompletableFuture<Result> send(URI uri, String method, long start) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> new Result(uri.toString(), response.statusCode(), method,
+                        response.headers().firstValue("Location").orElse(null), null, elapsed(start)));
+    }
+
+    private void complete(String url, CompletableFuture<Result> future, Result result) {
+        if (!result.isOk()) {
+            broken.incrementAndGet();
+            log.debug("Link {} not OK: {}", url, result);
+        }
+        if (result.isTransient()) {
+            cache.remove(url, future);
+        }
+        future.complete(result);
+    }
+
+    private static boolean needsGet(Result head) {
+        int status = head.getStatusCode();
+        return status >= 400 && status != 404 && status != 410;
+    }
+
+    private static long elapsed(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    public Stats getStats() {
+        return new Stats(checks.get(), cacheHits.get(), getFallbacks.get(), broken.get());
+    }
+
+    /**
+     * Lets up to limit tasks of one host run at a time; each task calls {@link #release()} when its request is done.
+     */
+    private static final class HostLimiter {
+        private final int limit;
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        HostLimiter(int limit) {
+            this.limit = limit;
+        }
+
+        void submit(Runnable task) {
+            synchronized (this) {
+                if (running >= limit) {
+                    waiting.add(task);
+                    return;
+                }
+                running++;
+            }
+            task.run();
+        }
+
+        void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                }
+            }
+            if (next != null) {
+                next.run();
+            }
+        }
+    }
+
+    @Value
+    public static class Result {
+        String url;
+        int statusCode; // 0 when no response was received
+        String method;
+        String location;
+        String error;
+        long millis;
+
+        static Result failed(String url, String method, long millis, Throwable error) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            String message = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+            return new Result(url, 0, method, null, message, millis);
+        }
+
+        public boolean isOk() {
+            return statusCode >= 200 && statusCode < 300;
+        }
+
+        public boolean isRedirect() {
+            return statusCode >= 300 && statusCode < 400;
+        }
+
+        boolean isTransient() {
+            return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+        }
+
+        @Override
+        public String toString() {
+            if (statusCode == 0) {
+                return String.format("%s %s failed: %s (%d ms)", method, url, error, millis);
+            }
+            return String.format("%s %s -> %d%s (%d ms)", method, url, statusCode,
+                    location != null ? " Location: " + location : "", millis);
+        }
+    }
+
+    @Value
+    public static class Stats {
+        long checks;
+        long cacheHits;
+        long getFallbacks;
+        long broken;
+
+        @Override
+        public String toString() {
+            return String.format("checks=%d, cacheHits=%d, getFallbacks=%d, broken=%d", checks, cacheHits, getFallbacks, broken);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.configure.Config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories that use virtual threads when virtual.threads=true and the JVM supports them (Java 21+),
+ * and daemon platform threads otherwise. Virtual threads are created through reflection so the sources
+ * still compile for Java 17; build with the virtual-threads profile to run on them.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private static final boolean SUPPORTED = Runtime.version().feature() >= 21;
+
+    private VirtualThreads() {}
+
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    public static boolean isEnabled() {
+        return SUPPORTED && Config.isVirtualThreadsEnabled();
+    }
+
+    /**
+     * Factory naming threads "{name}-0", "{name}-1", ...
+     */
+    public static ThreadFactory factory(String name) {
+        if (isEnabled()) {
+            try {
+                return virtualThreadFactory(name);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Could not create virtual thread factory, using platform threads: {}", e.getMessage());
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * One virtual thread per task when enabled, otherwise a cached pool of daemon platform threads.
+     */
+    public static ExecutorService newExecutor(String name) {
+        ThreadFactory factory = factory(name);
+        if (isEnabled()) {
+            try {
+                // Executors.newThreadPerTaskExecutor(factory)
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Could not create virtual thread executor, using a cached pool: {}", e.getMessage());
+            }
+        }
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    // Thread.ofVirtual().name(name + "-", 0).factory()
+    private static ThreadFactory virtualThreadFactory(String name) throws ReflectiveOperationException {
+        Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+        return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+    }
+}
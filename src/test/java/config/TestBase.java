@@ -1,7 +1,17 @@
 package config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.common.Constants;
 import org.example.configure.Config;
+import org.example.core.control.util.ClickMemory;
+import org.example.core.control.util.ElementCache;
+import org.example.core.control.util.FrameContext;
+import org.example.core.control.util.LocatorCache;
+import org.example.core.control.util.NetworkIdle;
+import org.example.core.control.util.PageLoader;
+import org.example.core.control.util.Settling;
+import org.example.core.control.util.WaitEngine;
+import org.example.core.control.util.WindowManager;
 import org.example.core.driver.DriverFactory;
 import org.example.core.report.ConsoleConfig;
 import org.example.core.report.SoftAssertConfig;
@@ -10,6 +20,9 @@ import org.testng.ITestResult;
 import org.testng.SkipException;
 import org.testng.annotations.*;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Slf4j
 public class TestBase {
 
@@ -19,10 +32,31 @@ public class TestBase {
     @BeforeSuite(alwaysRun = true)
     public void beforeSuite() {
         logConfig.startTerminalLog();
+        List<BrowserType> browsers = Constants.getBrowsers().stream()
+                .map(BrowserType::fromString)
+                .collect(Collectors.toList());
+        DriverFactory.resolveDriverBinaries(browsers);
+        DriverFactory.prewarm(browsers);
     }
 
     @AfterSuite(alwaysRun = true)
     public void afterSuite() {
+        DriverFactory.shutdown();
+        log.info("Locator cache stats: {}", LocatorCache.getStats());
+        log.info("Settling stats: {}", Settling.getStats());
+        log.info("Frame context stats: {}", FrameContext.getStats());
+        log.info("Click memory stats: {}", ClickMemory.getStats());
+        log.info("Network idle stats: {}", NetworkIdle.getStats());
+        log.info("Window manager stats: {}", WindowManager.getStats());
+        ClickMemory.save();
+        PageLoader.getStats().forEach((page, stats) -> log.info("Page '{}' time to ready: {}", page, stats));
+        WaitEngine.getStats().forEach((condition, stats) -> log.info("Wait '{}': {}", condition, stats));
+        if (WaitEngine.getClampedWaits() > 0) {
+            log.info("Waits cut short by the step budget: {}", WaitEngine.getClampedWaits());
+        }
+        if (Config.isElementCacheEnabled()) {
+            log.info("Element cache stats: {}", ElementCache.getStats());
+        }
         logConfig.stopTerminalLog();
     }
 
@@ -49,7 +83,8 @@ public class TestBase {
             throw new SkipException("Skipping test - browser not selected in single browser mode");
         }
 
-        DriverFactory.getDriverManager(browserType);
+        // start the browser in the background while data providers run; setUpMethod waits for it
+        DriverFactory.startDriverManager(browserType);
     }
 
     @BeforeMethod(alwaysRun = true)
@@ -58,11 +93,16 @@ public class TestBase {
             throw new SkipException("Skipping test - browser not selected in single browser mode");
         }
         SoftAssertConfig.reset();
+        // wait for the driver started in setUpClass and replace one the watchdog aborted;
+        // a failed start skips the method as a configuration failure
+        DriverFactory.prepareDriverManager(browserType);
     }
 
     @AfterMethod(alwaysRun = true)
     public void tearDownMethod(ITestResult result) {
-     // implement after
+        if (result.getStatus() == ITestResult.FAILURE) {
+            DriverFactory.markFailed();
+        }
     }
 
     @AfterClass(alwaysRun = true)
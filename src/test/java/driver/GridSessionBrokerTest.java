@@ -0,0 +1,124 @@
+package driver;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.core.driver.GridSessionBroker;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Runs the grid broker against a stub hub serving /status. Run with: mvn test -Dtest=GridSessionBrokerTest
+ */
+public class GridSessionBrokerTest {
+
+    private HttpServer server;
+    private final AtomicInteger statusCalls = new AtomicInteger();
+    private volatile IntFunction<String> statusBody;
+
+    @BeforeMethod
+    public void startHub() throws Exception {
+        statusCalls.set(0);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/status", exchange -> {
+            byte[] body = statusBody.apply(statusCalls.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopHub() {
+        server.stop(0);
+    }
+
+    @Test
+    public void countsOnlyIdleSlotsOfTheBrowserOnLiveNodes() throws Exception {
+        statusBody = call -> status(
+                node("UP", slot("chrome", false), slot("chrome", true), slot("firefox", false)),
+                node("DOWN", slot("chrome", false)));
+
+        GridSessionBroker broker = broker(1000);
+
+        Assert.assertEquals(broker.freeSlots("chrome"), 1);
+        Assert.assertEquals(broker.freeSlots("firefox"), 1);
+        Assert.assertEquals(broker.freeSlots("MicrosoftEdge"), 0);
+    }
+
+    @Test
+    public void waitsForAFreeSlotBeforeStartingTheSession() throws Exception {
+        statusBody = call -> status(node("UP", slot("chrome", call < 3)));
+
+        GridSessionBroker broker = broker(5000);
+        String session = broker.acquire("chrome", () -> "session-" + statusCalls.get());
+
+        Assert.assertEquals(session, "session-3");
+        Assert.assertEquals(broker.getStats().getQueued(), 1);
+    }
+
+    @Test
+    public void retriesWhenTheGridRejectsTheSession() throws Exception {
+        statusBody = call -> status(node("UP", slot("chrome", false)));
+        AtomicInteger attempts = new AtomicInteger();
+
+        GridSessionBroker broker = broker(5000);
+        String session = broker.acquire("chrome", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new SessionNotCreatedException("New session request timed out");
+            }
+            return "session";
+        });
+
+        Assert.assertEquals(session, "session");
+        Assert.assertEquals(broker.getStats().getRetries(), 2);
+    }
+
+    @Test(expectedExceptions = SessionNotCreatedException.class)
+    public void failsWhenNoSlotFreesUpInTime() throws Exception {
+        statusBody = call -> status(node("UP", slot("chrome", true)));
+
+        broker(200).acquire("chrome", () -> "session");
+    }
+
+    @Test
+    public void startsImmediatelyWhenStatusIsUnavailable() throws Exception {
+        statusBody = call -> "{\"value\": {\"ready\": true}}";
+
+        GridSessionBroker broker = broker(1000);
+
+        Assert.assertEquals(broker.freeSlots("chrome"), -1);
+        Assert.assertEquals(broker.acquire("chrome", () -> "session"), "session");
+        Assert.assertEquals(broker.getStats().getQueued(), 0);
+    }
+
+    private GridSessionBroker broker(long timeoutMillis) throws Exception {
+        URL hub = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub");
+        return new GridSessionBroker(hub, HttpClient.newHttpClient(), timeoutMillis, 10);
+    }
+
+    private static String status(String... nodes) {
+        return "{\"value\": {\"ready\": true, \"nodes\": [" + String.join(",", nodes) + "]}}";
+    }
+
+    private static String node(String availability, String... slots) {
+        return "{\"availability\": \"" + availability + "\", \"slots\": [" + String.join(",", slots) + "]}";
+    }
+
+    private static String slot(String browserName, boolean busy) {
+        String session = busy ? "{\"sessionId\": \"abc\"}" : "null";
+        return "{\"session\": " + session + ", \"stereotype\": {\"browserName\": \"" + browserName + "\"}}";
+    }
+}
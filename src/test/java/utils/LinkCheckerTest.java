@@ -0,0 +1,159 @@
+package utils;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.utils.LinkChecker;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the link checker against a local HTTP server. Run with: mvn test -Dtest=LinkCheckerTest
+ */
+public class LinkCheckerTest {
+
+    private HttpServer server;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @BeforeMethod
+    public void startServer() throws Exception {
+        hits.clear();
+        running.set(0);
+        maxRunning.set(0);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            hits.computeIfAbsent(method + " " + path, k -> new AtomicInteger()).incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                if (path.startsWith("/slow")) {
+                    Thread.sleep(100);
+                }
+                int status;
+                if (path.equals("/missing")) {
+                    status = 404;
+                } else if (path.equals("/no-head")) {
+                    status = "HEAD".equals(method) ? 405 : 200;
+                } else if (path.equals("/moved")) {
+                    exchange.getResponseHeaders().add("Location", "/ok");
+                    status = 302;
+                } else if (path.equals("/flaky")) {
+                    status = 503;
+                } else {
+                    status = 200;
+                }
+                exchange.sendResponseHeaders(status, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void reportsStatusWithoutFollowingRedirects() {
+        List<LinkChecker.Result> results = checker(4).checkAll(List.of(url("/ok"), url("/missing"), url("/moved")));
+
+        Assert.assertEquals(results.get(0).getStatusCode(), 200);
+        Assert.assertTrue(results.get(0).isOk());
+        Assert.assertEquals(results.get(1).getStatusCode(), 404);
+        Assert.assertEquals(results.get(2).getStatusCode(), 302);
+        Assert.assertTrue(results.get(2).isRedirect());
+        Assert.assertEquals(results.get(2).getLocation(), "/ok");
+        Assert.assertNull(hits.get("GET /missing"), "404 is final, no GET fallback");
+    }
+
+    @Test
+    public void fallsBackToGetWhenHeadIsRejected() {
+        LinkChecker.Result result = checker(4).check(url("/no-head"));
+
+        Assert.assertEquals(result.getStatusCode(), 200);
+        Assert.assertEquals(result.getMethod(), "GET");
+        Assert.assertEquals(hits.get("HEAD /no-head").get(), 1);
+    }
+
+    @Test
+    public void cachesDefinitiveResultsButNotTransientOnes() {
+        LinkChecker checker = checker(4);
+
+        checker.checkAll(List.of(url("/ok"), url("/ok"), url("/flaky")));
+        checker.checkAll(List.of(url("/ok"), url("/flaky")));
+
+        Assert.assertEquals(hits.get("HEAD /ok").get(), 1);
+        Assert.assertEquals(hits.get("HEAD /flaky").get(), 2);
+        Assert.assertEquals(checker.getStats().getCacheHits(), 1);
+    }
+
+    @Test
+    public void uncachedChecksAlwaysAskAgain() {
+        LinkChecker checker = checker(4);
+
+        checker.check(url("/missing"));
+        checker.check(url("/missing"), false);
+        checker.check(url("/missing"), false);
+
+        Assert.assertEquals(hits.get("HEAD /missing").get(), 3);
+        Assert.assertEquals(checker.getStats().getCacheHits(), 0);
+    }
+
+    @Test
+    public void limitsConcurrentRequestsPerHost() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            urls.add(url("/slow/" + i));
+        }
+
+        List<LinkChecker.Result> results = checker(2).checkAll(urls);
+
+        Assert.assertTrue(results.stream().allMatch(LinkChecker.Result::isOk));
+        Assert.assertTrue(maxRunning.get() <= 2, "max concurrent requests: " + maxRunning.get());
+        Assert.assertEquals(maxRunning.get(), 2);
+    }
+
+    @Test
+    public void reportsConnectionFailuresAndUnsupportedSchemes() {
+        LinkChecker checker = checker(4);
+        int closedPort = server.getAddress().getPort();
+        server.stop(0);
+
+        LinkChecker.Result refused = checker.check("http://127.0.0.1:" + closedPort + "/ok");
+        LinkChecker.Result mailto = checker.check("mailto:someone@example.com");
+
+        Assert.assertEquals(refused.getStatusCode(), 0);
+        Assert.assertNotNull(refused.getError());
+        Assert.assertEquals(mailto.getStatusCode(), 0);
+        Assert.assertTrue(HttpURLConnection.getFollowRedirects(), "global redirect setting is left alone");
+    }
+
+    private LinkChecker checker(int perHost) {
+        HttpClient client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
+        return new LinkChecker(client, perHost, Duration.ofSeconds(5));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}